@@ -81,8 +81,8 @@ public class MainController implements Initializable {
     private Kernel krnl;
     private FileChooser file = new FileChooser();
     private String[] processType = {"SYSTEM","USER","BATCH"};
-    private String[] schedulingPolicies = {"ROUND ROBIN","FCFS","MULTILEVEL QUEUE","FAIR SHARE"};
-    private enum Policy{RR,FCFS,MLQ,FS}
+    private String[] schedulingPolicies = {"ROUND ROBIN","FCFS","MULTILEVEL QUEUE","FAIR SHARE","COMPLETELY FAIR","MULTILEVEL FEEDBACK","SJF","SRTF","EDF","STRIDE"};
+    private enum Policy{RR,FCFS,MLQ,FS,CFS,MLFQ,SJF,SRTF,EDF,STRIDE}
     private Policy actualPolicy;
     private enum Type{SYS,US,BT}
     private Type actualType;
@@ -236,6 +236,46 @@ public class MainController implements Initializable {
                     () -> new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST),
                     () -> new FairShare(Integer.parseInt(txtFSQ.getText()))
             );
+            case CFS -> krnl = new Kernel(
+                    () -> new MainMemory(ramSize),
+                    () -> new VirtualMemory(),
+                    () -> new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST),
+                    () -> new CompletelyFair()
+            );
+            case MLFQ -> krnl = new Kernel(
+                    () -> new MainMemory(ramSize),
+                    () -> new VirtualMemory(),
+                    () -> new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST),
+                    () -> new MultilevelFeedbackQueue()
+            );
+            case SJF -> krnl = new Kernel(
+                    () -> new MainMemory(ramSize),
+                    () -> new VirtualMemory(),
+                    () -> new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST),
+                    () -> new ShortestJobFirst()
+            );
+            case SRTF -> krnl = new Kernel(
+                    () -> new MainMemory(ramSize),
+                    () -> new VirtualMemory(),
+                    () -> new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST),
+                    () -> new ShortestRemainingTimeFirst()
+            );
+            case EDF -> krnl = new Kernel(
+                    () -> new MainMemory(ramSize),
+                    () -> new VirtualMemory(),
+                    () -> {
+                        MLTermScheduler mts = new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+                        mts.enableDeadlineAdmission(1.0);
+                        return mts;
+                    },
+                    () -> new EarliestDeadlineFirst()
+            );
+            case STRIDE -> krnl = new Kernel(
+                    () -> new MainMemory(ramSize),
+                    () -> new VirtualMemory(),
+                    () -> new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST),
+                    () -> new StrideScheduling(Integer.parseInt(txtFSQ.getText()))
+            );
         }
         displayInformationDialog(primaryStage,AlertType.INFORMATION,"Arranque del Kernel exitoso");
 
@@ -279,7 +319,7 @@ public class MainController implements Initializable {
 
 
         while(!krnl.isFinished()) {
-            krnl.step();
+            krnl.stepToNextEvent();
         }
         Averages avg = krnl.getAverages();
         bindKernel(krnl);
@@ -320,6 +360,7 @@ public class MainController implements Initializable {
                 }
                 return f1 && f2;
             case FS:
+            case STRIDE:
                 int q4 = Integer.parseInt(txtFSQ.getText());
                 if(q4 <= 0){
                     displayInformationDialog(primaryStage, AlertType.ERROR,"Por favor seleccione un valor de quantum valido para el algoritmo Fair Share");
@@ -327,6 +368,11 @@ public class MainController implements Initializable {
                 }
                 return true;
             case FCFS: return true;
+            case CFS: return true;
+            case MLFQ: return true;
+            case SJF: return true;
+            case SRTF: return true;
+            case EDF: return true;
             default: return false;
         }
     }
@@ -356,6 +402,42 @@ public class MainController implements Initializable {
                 ganttController.setLaneMode(GanttController.LaneMode.LANE);
                 ganttController.setColorMode(GanttController.ColorMode.LANE);
             }
+            case "COMPLETELY FAIR" -> {
+                actualPolicy = Policy.CFS;
+                System.out.println(actualPolicy);
+                ganttController.setLaneMode(GanttController.LaneMode.PID);
+                ganttController.setColorMode(GanttController.ColorMode.PID);
+            }
+            case "MULTILEVEL FEEDBACK" -> {
+                actualPolicy = Policy.MLFQ;
+                System.out.println(actualPolicy);
+                ganttController.setLaneMode(GanttController.LaneMode.LANE);
+                ganttController.setColorMode(GanttController.ColorMode.LANE);
+            }
+            case "SJF" -> {
+                actualPolicy = Policy.SJF;
+                System.out.println(actualPolicy);
+                ganttController.setLaneMode(GanttController.LaneMode.PID);
+                ganttController.setColorMode(GanttController.ColorMode.PID);
+            }
+            case "SRTF" -> {
+                actualPolicy = Policy.SRTF;
+                System.out.println(actualPolicy);
+                ganttController.setLaneMode(GanttController.LaneMode.PID);
+                ganttController.setColorMode(GanttController.ColorMode.PID);
+            }
+            case "EDF" -> {
+                actualPolicy = Policy.EDF;
+                System.out.println(actualPolicy);
+                ganttController.setLaneMode(GanttController.LaneMode.PID);
+                ganttController.setColorMode(GanttController.ColorMode.LANE);
+            }
+            case "STRIDE" -> {
+                actualPolicy = Policy.STRIDE;
+                System.out.println(actualPolicy);
+                ganttController.setLaneMode(GanttController.LaneMode.LANE);
+                ganttController.setColorMode(GanttController.ColorMode.LANE);
+            }
         }
     }
 
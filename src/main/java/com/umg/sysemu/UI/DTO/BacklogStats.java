@@ -0,0 +1,7 @@
+package com.umg.sysemu.UI.DTO;
+
+public record BacklogStats(
+        String queue, int size, int limit, String overflowPolicy,
+        long offered, long rejected, long dropped, long blocked, int blockedNow,
+        long admitted, double avgQueueDelay, int maxQueueDelay
+) {}
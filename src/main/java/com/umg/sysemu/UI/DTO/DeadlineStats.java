@@ -0,0 +1,7 @@
+package com.umg.sysemu.UI.DTO;
+
+public record DeadlineStats(
+        int realtimeJobs, int completed, int missed, long rejected,
+        double avgLateness, int maxLateness,
+        double utilization, double utilizationBound
+) {}
@@ -0,0 +1,8 @@
+package com.umg.sysemu.UI.DTO;
+
+public record LoadStats(
+        boolean adaptive, boolean thrashing, long thrashingEpochs,
+        int swapInterval, int minResidency, int multiprogrammingCap, int resident,
+        double swapRatio, double usefulFraction,
+        double throughput, double effectiveThroughput
+) {}
@@ -1,5 +1,8 @@
 package com.umg.sysemu.UI.DTO;
 
 public record MemoryView(
-        int size, int used, int free
+        int size, int used, int free,
+        int largestHole, int holes, double externalFragmentation,
+        int compactions, int fragmentationMisses,
+        double avgUtilization
 ) {}
@@ -0,0 +1,8 @@
+package com.umg.sysemu.UI.DTO;
+
+public record PagingStats(
+        int frames, int framesUsed,
+        long references, long tlbHits, long tlbMisses, long pageFaults,
+        long evictions, long writebacks, long stallTicks,
+        double faultRate, double tlbHitRate, double throughput
+) {}
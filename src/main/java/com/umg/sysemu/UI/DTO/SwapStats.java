@@ -0,0 +1,7 @@
+package com.umg.sysemu.UI.DTO;
+
+public record SwapStats(
+        String victimPolicy,
+        long evictions, long swappedOutBytes, long swappedInBytes,
+        double bytesPerEviction
+) {}
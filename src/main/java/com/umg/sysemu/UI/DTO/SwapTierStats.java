@@ -0,0 +1,8 @@
+package com.umg.sysemu.UI.DTO;
+
+public record SwapTierStats(
+        String name, long capacityBytes, long usedBytes,
+        long transfers, long bytesMoved, long rejected,
+        int queueDepth, int maxQueueDepth, double avgQueueDepth,
+        double utilization, double avgTransferTicks
+) {}
@@ -0,0 +1,22 @@
+package com.umg.sysemu.collections;
+
+// Utilidades compartidas por las tablas de direccionamiento abierto con claves long
+final class LongHashing {
+    static final int DEFAULT_CAPACITY = 16;
+    static final float LOAD_FACTOR = 0.6f;
+
+    private LongHashing() {}
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    static int tableSizeFor(int expected) {
+        int needed = (int) Math.ceil(Math.max(expected, 1) / LOAD_FACTOR);
+        int cap = Integer.highestOneBit(Math.max(needed, DEFAULT_CAPACITY) - 1) << 1;
+        return Math.max(cap, DEFAULT_CAPACITY);
+    }
+
+    static int maxFill(int capacity) { return (int) (capacity * LOAD_FACTOR); }
+}
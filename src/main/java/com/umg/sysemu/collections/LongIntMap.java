@@ -0,0 +1,104 @@
+package com.umg.sysemu.collections;
+
+import java.util.Arrays;
+
+// Mapa long -> int con direccionamiento abierto (sondeo lineal) y borrado por
+// desplazamiento hacia atras: sin boxing ni nodos por entrada.
+public class LongIntMap {
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int maxFill;
+
+    public LongIntMap() { this(LongHashing.DEFAULT_CAPACITY); }
+
+    public LongIntMap(int expectedSize) {
+        allocate(LongHashing.tableSizeFor(expectedSize));
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public boolean containsKey(long key) { return indexOf(key) >= 0; }
+
+    public int getOrDefault(long key, int missing) {
+        int i = indexOf(key);
+        return i >= 0 ? values[i] : missing;
+    }
+
+    public void put(long key, int value) {
+        int i = LongHashing.mix(key) & mask;
+        while(used[i]) {
+            if(keys[i] == key) { values[i] = value; return; }
+            i = (i + 1) & mask;
+        }
+        used[i] = true;
+        keys[i] = key;
+        values[i] = value;
+        if(++size > maxFill) rehash(keys.length << 1);
+    }
+
+    public boolean remove(long key) {
+        int i = indexOf(key);
+        if(i < 0) return false;
+        shiftDelete(i);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        if(size == 0) return;
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int i = LongHashing.mix(key) & mask;
+        while(used[i]) {
+            if(keys[i] == key) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftDelete(int hole) {
+        int i = hole;
+        while(true) {
+            i = (i + 1) & mask;
+            if(!used[i]) break;
+            int home = LongHashing.mix(keys[i]) & mask;
+            // La entrada en i puede ocupar el hueco si su posicion ideal no esta entre hole e i
+            if(((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        used[hole] = false;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for(int j = 0; j < oldKeys.length; j++) {
+            if(!oldUsed[j]) continue;
+            int i = LongHashing.mix(oldKeys[j]) & mask;
+            while(used[i]) i = (i + 1) & mask;
+            used[i] = true;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        maxFill = LongHashing.maxFill(capacity);
+    }
+}
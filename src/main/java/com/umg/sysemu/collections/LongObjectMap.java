@@ -0,0 +1,120 @@
+package com.umg.sysemu.collections;
+
+import java.util.Arrays;
+
+// Mapa long -> V con direccionamiento abierto (sondeo lineal); las claves no se boxean
+public class LongObjectMap<V> {
+    private long[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int maxFill;
+
+    public LongObjectMap() { this(LongHashing.DEFAULT_CAPACITY); }
+
+    public LongObjectMap(int expectedSize) {
+        allocate(LongHashing.tableSizeFor(expectedSize));
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public boolean containsKey(long key) { return indexOf(key) >= 0; }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int i = indexOf(key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int i = LongHashing.mix(key) & mask;
+        while(used[i]) {
+            if(keys[i] == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        used[i] = true;
+        keys[i] = key;
+        values[i] = value;
+        if(++size > maxFill) rehash(keys.length << 1);
+        return null;
+    }
+
+    public V putIfAbsent(long key, V value) {
+        V current = get(key);
+        if(current != null) return current;
+        put(key, value);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int i = indexOf(key);
+        if(i < 0) return null;
+        V old = (V) values[i];
+        shiftDelete(i);
+        size--;
+        return old;
+    }
+
+    public void clear() {
+        if(size == 0) return;
+        Arrays.fill(used, false);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int i = LongHashing.mix(key) & mask;
+        while(used[i]) {
+            if(keys[i] == key) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftDelete(int hole) {
+        int i = hole;
+        while(true) {
+            i = (i + 1) & mask;
+            if(!used[i]) break;
+            int home = LongHashing.mix(keys[i]) & mask;
+            if(((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        used[hole] = false;
+        values[hole] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for(int j = 0; j < oldKeys.length; j++) {
+            if(!oldUsed[j]) continue;
+            int i = LongHashing.mix(oldKeys[j]) & mask;
+            while(used[i]) i = (i + 1) & mask;
+            used[i] = true;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        maxFill = LongHashing.maxFill(capacity);
+    }
+}
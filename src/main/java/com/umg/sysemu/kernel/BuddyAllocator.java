@@ -0,0 +1,209 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.collections.LongIntMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Sistema buddy: bloques de tamaño potencia de dos. La capacidad se parte en bloques
+// raiz segun sus bits (4024 = 2048+1024+512+...), cada uno alineado a su tamaño.
+public class BuddyAllocator implements MemoryAllocator {
+    private static final int ORDERS = 31;
+
+    private int capacity;
+    private int used;
+    private int maxBlock;
+
+    @SuppressWarnings("unchecked")
+    private final TreeSet<Integer>[] freeLists = (TreeSet<Integer>[]) new TreeSet<?>[ORDERS];
+    // Bit k encendido si hay algun bloque libre de orden k
+    private int nonEmpty;
+
+    private final TreeMap<Integer, Long> ownerAt = new TreeMap<>();
+    private final LongIntMap baseOf = new LongIntMap();
+    private final LongIntMap orderOf = new LongIntMap();
+    // Bloques ocupados por orden y buffer de fitsAfterCompaction
+    private final int[] blocksOfOrder = new int[ORDERS];
+    private final int[] simulated = new int[ORDERS];
+
+    public BuddyAllocator(int capacity) {
+        if(capacity < 0) throw new IllegalArgumentException("Capacity must be non-negative");
+        for(int k = 0; k < ORDERS; k++) freeLists[k] = new TreeSet<>();
+        this.capacity = capacity;
+        seedRoots();
+    }
+
+    @Override
+    public int allocate(long owner, int size) {
+        if(baseOf.containsKey(owner)) return baseOf.getOrDefault(owner, NO_BLOCK);
+        if(size <= 0) {
+            baseOf.put(owner, 0);
+            orderOf.put(owner, -1);
+            return 0;
+        }
+        int order = orderFor(size);
+        int base = take(order);
+        if(base == NO_BLOCK) return NO_BLOCK;
+        ownerAt.put(base, owner);
+        baseOf.put(owner, base);
+        orderOf.put(owner, order);
+        blocksOfOrder[order]++;
+        used += 1 << order;
+        return base;
+    }
+
+    @Override
+    public boolean free(long owner) {
+        int base = baseOf.getOrDefault(owner, NO_BLOCK);
+        if(base == NO_BLOCK) return false;
+        int order = orderOf.getOrDefault(owner, -1);
+        baseOf.remove(owner);
+        orderOf.remove(owner);
+        if(order < 0) return true;
+        ownerAt.remove(base);
+        blocksOfOrder[order]--;
+        used -= 1 << order;
+        release(base, order);
+        return true;
+    }
+
+    @Override
+    public int baseOf(long owner) { return baseOf.getOrDefault(owner, NO_BLOCK); }
+
+    @Override
+    public boolean canFit(int size) {
+        if(size <= 0) return true;
+        int order = orderFor(size);
+        return order < ORDERS && (nonEmpty >>> order) != 0;
+    }
+
+    @Override
+    public int maxAllocatable() { return maxBlock; }
+
+    @Override
+    public int capacity() { return capacity; }
+
+    // Incluye la fragmentacion interna: se cobra el bloque completo
+    @Override
+    public int usedBytes() { return used; }
+
+    @Override
+    public int largestHole() { return nonEmpty == 0 ? 0 : Integer.highestOneBit(nonEmpty); }
+
+    @Override
+    public int holeCount() {
+        int n = 0;
+        for(TreeSet<Integer> list : freeLists) n += list.size();
+        return n;
+    }
+
+    @Override
+    public int compact() {
+        // Reubicar de mayor a menor orden sobre los bloques raiz deja todo lo libre junto al final
+        List<long[]> blocks = new ArrayList<>();
+        for(var e : ownerAt.entrySet()) {
+            long owner = e.getValue();
+            blocks.add(new long[]{owner, e.getKey(), orderOf.getOrDefault(owner, 0)});
+        }
+        blocks.sort((a, b) -> a[2] != b[2] ? Long.compare(b[2], a[2]) : Long.compare(a[1], b[1]));
+
+        for(TreeSet<Integer> list : freeLists) list.clear();
+        nonEmpty = 0;
+        seedRoots();
+        ownerAt.clear();
+
+        int moved = 0;
+        for(long[] b : blocks) {
+            int order = (int) b[2];
+            int base = take(order);
+            if(base == NO_BLOCK) throw new IllegalStateException("Buddy compaction could not place block of order " + order);
+            if(base != b[1]) moved += 1 << order;
+            ownerAt.put(base, b[0]);
+            baseOf.put(b[0], base);
+        }
+        return moved;
+    }
+
+    // compact() coloca los bloques de mayor a menor orden sobre las raices: se repite con contadores
+    // por orden. Lo libre repartido entre raices chicas no siempre arma el bloque que hace falta
+    @Override
+    public boolean fitsAfterCompaction(int size) {
+        if(size <= 0) return true;
+        int need = orderFor(size);
+        if(need >= ORDERS) return false;
+        int[] free = simulated;
+        Arrays.fill(free, 0);
+        for(int k = 0; k < ORDERS; k++) if((capacity & (1 << k)) != 0) free[k] = 1;
+        for(int order = ORDERS - 1; order >= 0; order--) {
+            for(int n = blocksOfOrder[order]; n > 0; n--) {
+                int k = order;
+                while(free[k] == 0) k++;
+                free[k]--;
+                while(k > order) free[--k]++;
+            }
+        }
+        for(int k = need; k < ORDERS; k++) if(free[k] > 0) return true;
+        return false;
+    }
+
+    @Override
+    public boolean resize(int newCapacity) {
+        // Los bloques raiz dependen de la capacidad: solo se puede cambiar con la memoria vacia
+        if(newCapacity < 0 || !ownerAt.isEmpty()) return false;
+        for(TreeSet<Integer> list : freeLists) list.clear();
+        nonEmpty = 0;
+        capacity = newCapacity;
+        seedRoots();
+        return true;
+    }
+
+    private void seedRoots() {
+        int base = 0;
+        maxBlock = 0;
+        for(int k = ORDERS - 1; k >= 0; k--) {
+            if((capacity & (1 << k)) == 0) continue;
+            if(maxBlock == 0) maxBlock = 1 << k;
+            addFree(base, k);
+            base += 1 << k;
+        }
+    }
+
+    private int take(int order) {
+        if(order >= ORDERS) return NO_BLOCK;
+        int available = nonEmpty >>> order;
+        if(available == 0) return NO_BLOCK;
+        int k = order + Integer.numberOfTrailingZeros(available);
+        int base = freeLists[k].pollFirst();
+        if(freeLists[k].isEmpty()) nonEmpty &= ~(1 << k);
+        // Partir hasta el orden pedido; la mitad alta queda libre
+        while(k > order) {
+            k--;
+            addFree(base + (1 << k), k);
+        }
+        return base;
+    }
+
+    private void release(int base, int order) {
+        // Los bloques raiz nunca encuentran a su buddy libre: la cola tras ellos es mas chica
+        while(order < ORDERS - 1) {
+            int buddy = base ^ (1 << order);
+            if(!freeLists[order].remove(buddy)) break;
+            if(freeLists[order].isEmpty()) nonEmpty &= ~(1 << order);
+            base = Math.min(base, buddy);
+            order++;
+        }
+        addFree(base, order);
+    }
+
+    private void addFree(int base, int order) {
+        freeLists[order].add(base);
+        nonEmpty |= 1 << order;
+    }
+
+    private static int orderFor(int size) {
+        return size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+}
@@ -1,9 +1,10 @@
 package com.umg.sysemu.kernel;
 
 public class Clock {
-    private static int INTERNAL_CLOCK = 0;
+    private int internalClock = 0;
 
-    public static int forward() { return INTERNAL_CLOCK++; }
-    public static void reset() { INTERNAL_CLOCK = 0; }
-    public static int time() { return INTERNAL_CLOCK; }
+    public int forward() { return internalClock++; }
+    public int advance(int ticks) { return internalClock += ticks; }
+    public void reset() { internalClock = 0; }
+    public int time() { return internalClock; }
 }
@@ -0,0 +1,3 @@
+package com.umg.sysemu.kernel;
+
+public enum FitStrategy { FIRST_FIT, BEST_FIT, NEXT_FIT, BUDDY }
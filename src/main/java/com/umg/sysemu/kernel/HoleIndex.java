@@ -0,0 +1,159 @@
+package com.umg.sysemu.kernel;
+
+import java.util.TreeSet;
+
+// Indice de huecos libres: treap por direccion base con el hueco maximo de cada subarbol
+// (first-fit / next-fit en O(log n)) y un TreeSet por (tamaño, base) para best-fit.
+final class HoleIndex {
+    private static final class Node {
+        final int base;
+        final int size;
+        final int priority;
+        int max;
+        Node left;
+        Node right;
+
+        Node(int base, int size, int priority) {
+            this.base = base;
+            this.size = size;
+            this.priority = priority;
+            this.max = size;
+        }
+    }
+
+    private Node root;
+    private int count;
+    private long freeBytes;
+    private final TreeSet<Long> bySize = new TreeSet<>();
+    // Prioridades pseudoaleatorias con semilla fija: la forma del arbol es reproducible
+    private int seed = 0x2545F491;
+
+    int count() { return count; }
+    long freeBytes() { return freeBytes; }
+    int largest() { return root == null ? 0 : root.max; }
+
+    void clear() {
+        root = null;
+        count = 0;
+        freeBytes = 0;
+        bySize.clear();
+    }
+
+    void add(int base, int size) {
+        Node n = new Node(base, size, nextPriority());
+        Node[] parts = split(root, base);
+        root = merge(merge(parts[0], n), parts[1]);
+        bySize.add(sizeKey(size, base));
+        count++;
+        freeBytes += size;
+    }
+
+    // Devuelve el tamaño del hueco quitado o -1 si no existia
+    int remove(int base) {
+        Node[] parts = split(root, base);
+        Node[] mid = split(parts[1], base + 1);
+        Node hole = mid[0];
+        root = merge(parts[0], mid[1]);
+        if(hole == null) return -1;
+        bySize.remove(sizeKey(hole.size, hole.base));
+        count--;
+        freeBytes -= hole.size;
+        return hole.size;
+    }
+
+    int sizeAt(int base) {
+        Node t = root;
+        while(t != null) {
+            if(base == t.base) return t.size;
+            t = base < t.base ? t.left : t.right;
+        }
+        return -1;
+    }
+
+    // Mayor base <= addr, o -1
+    int floorBase(int addr) {
+        int best = -1;
+        for(Node t = root; t != null; ) {
+            if(t.base <= addr) { best = t.base; t = t.right; }
+            else t = t.left;
+        }
+        return best;
+    }
+
+    // Menor base >= addr, o -1
+    int ceilingBase(int addr) {
+        int best = -1;
+        for(Node t = root; t != null; ) {
+            if(t.base >= addr) { best = t.base; t = t.left; }
+            else t = t.right;
+        }
+        return best;
+    }
+
+    int firstFit(int size) { return firstFitFrom(root, 0, size); }
+
+    int firstFitFrom(int from, int size) { return firstFitFrom(root, from, size); }
+
+    int bestFit(int size) {
+        Long key = bySize.ceiling(sizeKey(size, 0));
+        return key == null ? -1 : (int) (key & 0xFFFFFFFFL);
+    }
+
+    private static int firstFitFrom(Node t, int from, int size) {
+        while(t != null && t.max >= size) {
+            if(t.base >= from) {
+                int left = firstFitFrom(t.left, from, size);
+                if(left >= 0) return left;
+                if(t.size >= size) return t.base;
+            }
+            t = t.right;
+        }
+        return -1;
+    }
+
+    private static long sizeKey(int size, int base) { return ((long) size << 32) | (base & 0xFFFFFFFFL); }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    // [0] = bases < key, [1] = bases >= key
+    private static Node[] split(Node t, int key) {
+        if(t == null) return new Node[2];
+        if(t.base < key) {
+            Node[] parts = split(t.right, key);
+            t.right = parts[0];
+            update(t);
+            parts[0] = t;
+            return parts;
+        }
+        Node[] parts = split(t.left, key);
+        t.left = parts[1];
+        update(t);
+        parts[1] = t;
+        return parts;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if(a == null) return b;
+        if(b == null) return a;
+        if(a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static void update(Node t) {
+        int max = t.size;
+        if(t.left != null && t.left.max > max) max = t.left.max;
+        if(t.right != null && t.right.max > max) max = t.right.max;
+        t.max = max;
+    }
+}
@@ -0,0 +1,141 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.collections.LongObjectMap;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.schedulers.ReadyQueue;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+// Cola de listos FIFO doblemente enlazada con indice PID -> nodo:
+// contains, remove(PCB) y encolar/desencolar por cualquiera de los extremos son O(1).
+public class IndexedReadyQueue implements ReadyQueue {
+    private static final class Node {
+        final PCB pcb;
+        Node prev;
+        Node next;
+
+        Node(PCB pcb) { this.pcb = pcb; }
+    }
+
+    private final LongObjectMap<Node> index;
+    private Node head;
+    private Node tail;
+    private int size;
+    private int modCount;
+
+    public IndexedReadyQueue() {
+        this.index = new LongObjectMap<>();
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public boolean contains(PCB p) { return p != null && nodeOf(p) != null; }
+
+    @Override
+    public void addFirst(PCB p) { linkBefore(p, head); }
+
+    @Override
+    public void addLast(PCB p) { linkBefore(p, null); }
+
+    @Override
+    public PCB peekFirst() { return head == null ? null : head.pcb; }
+
+    @Override
+    public PCB pollFirst() { return head == null ? null : unlink(head); }
+
+    @Override
+    public boolean remove(PCB p) {
+        if(p == null) return false;
+        Node n = nodeOf(p);
+        if(n == null) return false;
+        unlink(n);
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super PCB> filter) {
+        boolean any = false;
+        for(Node n = head; n != null; ) {
+            Node next = n.next;
+            if(filter.test(n.pcb)) {
+                unlink(n);
+                any = true;
+            }
+            n = next;
+        }
+        return any;
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        head = tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<PCB> iterator() {
+        return new Iterator<>() {
+            private Node next = head;
+            private Node lastReturned;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() { return next != null; }
+
+            @Override
+            public PCB next() {
+                if(modCount != expectedModCount) throw new ConcurrentModificationException();
+                if(next == null) throw new NoSuchElementException();
+                lastReturned = next;
+                next = next.next;
+                return lastReturned.pcb;
+            }
+
+            @Override
+            public void remove() {
+                if(modCount != expectedModCount) throw new ConcurrentModificationException();
+                if(lastReturned == null) throw new IllegalStateException();
+                unlink(lastReturned);
+                lastReturned = null;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    private Node nodeOf(PCB p) {
+        Node n = index.get(p.getPid());
+        return n != null && n.pcb == p ? n : null;
+    }
+
+    private void linkBefore(PCB p, Node succ) {
+        Objects.requireNonNull(p);
+        if(index.containsKey(p.getPid())) throw new IllegalStateException("Process " + p.getPid() + " is already in the ready queue");
+        Node n = new Node(p);
+        Node pred = (succ == null) ? tail : succ.prev;
+        n.prev = pred;
+        n.next = succ;
+        if(pred == null) head = n; else pred.next = n;
+        if(succ == null) tail = n; else succ.prev = n;
+        index.put(p.getPid(), n);
+        size++;
+        modCount++;
+    }
+
+    private PCB unlink(Node n) {
+        if(n.prev == null) head = n.next; else n.prev.next = n.next;
+        if(n.next == null) tail = n.prev; else n.next.prev = n.prev;
+        n.prev = n.next = null;
+        index.remove(n.pcb.getPid());
+        size--;
+        modCount++;
+        return n.pcb;
+    }
+}
@@ -3,6 +3,7 @@ package com.umg.sysemu.kernel;
 import com.umg.sysemu.UI.DTO.*;
 import com.umg.sysemu.process.PCB;
 import com.umg.sysemu.process.Status;
+import com.umg.sysemu.schedulers.EventHorizon;
 import com.umg.sysemu.schedulers.IScheduler;
 import com.umg.sysemu.schedulers.RunningInspector;
 
@@ -15,21 +16,57 @@ public class Kernel {
     private VirtualMemory vm;
     private MLTermScheduler mts;
     private IScheduler cpu;
+    private String policyName;
+    private final Clock clock = new Clock();
+    private final RunSeed seed = new RunSeed();
+    private final TimerWheel timers = new TimerWheel();
 
     private final Supplier<MainMemory> ramSupplier;
     private final Supplier<VirtualMemory> vmSupplier;
     private final Supplier<MLTermScheduler> mtsSupplier;
     private final Supplier<IScheduler> cpuSupplier;
 
-    private Long lastPid = null;
+    private long lastPid = RunningInspector.NO_PID;
     private int lastStart = 0;
     private String lastLane = null;
     private final List<TimelineSlice> timeline = new ArrayList<>();
 
-    private Map<Long,PCB> registry = new HashMap<>();
+    private final ProcessRegistry registry = new ProcessRegistry();
 
+    // Reenvia cada transicion al registro y, si le interesa, a la politica de corto plazo
+    private final LifecycleListener lifecycle = new LifecycleListener() {
+        @Override
+        public void onAdmit(PCB p, VirtualMemory.VirtualQueue from) {
+            registry.onAdmit(p, from);
+            if(cpu instanceof LifecycleListener l) l.onAdmit(p, from);
+        }
+
+        @Override
+        public void onSuspend(PCB p) {
+            registry.onSuspend(p);
+            if(cpu instanceof LifecycleListener l) l.onSuspend(p);
+        }
+
+        @Override
+        public void onTerminate(PCB p) {
+            registry.onTerminate(p);
+            if(cpu instanceof LifecycleListener l) l.onTerminate(p);
+        }
+
+        @Override
+        public void onReject(PCB p, VirtualMemory.VirtualQueue from) {
+            registry.onReject(p, from);
+            mts.onReject(p);
+            if(cpu instanceof LifecycleListener l) l.onReject(p, from);
+        }
+    };
+
+    private boolean stalled = false;
     private int ticksRunWithPid = 0;
     private int ticksElapsed = 0;
+    // Bytes ocupados y tamaño de RAM sumados por tick, para la utilizacion media
+    private long usedByteTicks = 0;
+    private long ramByteTicks = 0;
 
     public Kernel(Supplier<MainMemory> ramSupplier, Supplier<VirtualMemory> vmSupplier,
                   Supplier<MLTermScheduler> mtsSupplier, Supplier<IScheduler> cpuSupplier) {
@@ -39,34 +76,95 @@ public class Kernel {
         this.cpuSupplier = cpuSupplier;
 
         this.ram = ramSupplier.get();
+        this.ram.bindSeed(seed);
         this.vm = vmSupplier.get();
+        this.vm.bindClock(clock);
+        this.vm.setLifecycleListener(lifecycle);
         this.mts = mtsSupplier.get();
+        this.mts.setLifecycleListener(lifecycle);
+        this.mts.bindTimers(timers);
         this.cpu = cpuSupplier.get();
+        this.cpu.bindClock(clock);
+        this.policyName = cpu.getClass().getSimpleName();
     }
 
     public void step() {
-        final int tick = Clock.time();
-
-        harvestRegistry();
+        final int tick = clock.time();
+
+        // Compactacion en curso: la memoria se esta copiando y la CPU no avanza
+        stalled = ram.consumeStallTick();
+        if(stalled) {
+            updateGantt(tick, RunningInspector.NO_PID);
+            ticksElapsed++;
+            sampleUtilization(1);
+            clock.forward();
+            return;
+        }
 
+        timers.advanceTo(tick);
         mts.execute(tick, ram, vm);
+        // Lo que libero la admision lo ocupan primero los envios bloqueados
+        vm.drainBlocked();
 
         cpu.execute(ram.viewReadyQueue());
 
-        final Long nowPid = findRunningPid();
-        final String policyName = getActualPolicyName();
-        updateGantt(tick,policyName);
+        final long nowPid = findRunningPid();
+        updateGantt(tick,nowPid);
+        if(nowPid != RunningInspector.NO_PID && ram.isPaging()) ram.touchPages(registry.get(nowPid));
 
-        if(nowPid != null) ticksRunWithPid++;
+        if(nowPid != RunningInspector.NO_PID) {
+            ticksRunWithPid++;
+            mts.onCpuWork(1);
+        }
         ticksElapsed++;
 
-        for(PCB p : new ArrayList<>(ram.viewReadyQueue())) {
-            if(p.getStatus() == Status.TERMINATED) {
-                ram.deallocate(p);
-            }
+        sampleUtilization(1);
+
+        PCB done = cpu.pollTerminated();
+        if(done != null) {
+            ram.deallocate(done);
+            mts.onTerminate(done);
+            lifecycle.onTerminate(done);
         }
 
-        Clock.forward();
+        clock.forward();
+    }
+
+    // Modo por eventos: ejecuta un tick normal y salta los siguientes en los que
+    // solo se consumen rafagas del proceso en CPU (mismos resultados que step()).
+    public void stepToNextEvent() {
+        step();
+        int quiet = quietTicksAhead();
+        if(quiet > 0) skipTicks(quiet);
+    }
+
+    private int quietTicksAhead() {
+        if(!(cpu instanceof EventHorizon eh)) return 0;
+        // Terminada la corrida no hay mas ticks: un plazo pendiente (aging, epoca) no la estira
+        if(isFinished()) return 0;
+        // Tras un tick de compactacion la CPU no corrio: el saltado asumiria que sigue el mismo PID
+        if(stalled || ram.getPendingStallTicks() > 0) return 0;
+        // Con paginacion cada rafaga puede fallar: no hay tramos sin eventos que saltar
+        if(ram.isPaging()) return 0;
+        int cpuQuiet = eh.quietTicks(ram.viewReadyQueue());
+        if(cpuQuiet <= 0) return 0;
+        int mtsQuiet = mts.quietTicks(clock.time(), ram, vm);
+        int quiet = Math.min(cpuQuiet, mtsQuiet);
+        // El salto no puede pasar por encima del proximo plazo de la rueda
+        int deadline = timers.nextDeadline();
+        if(deadline != Integer.MAX_VALUE) quiet = Math.min(quiet, Math.max(0, deadline - clock.time()));
+        return quiet == Integer.MAX_VALUE ? 0 : quiet;
+    }
+
+    private void skipTicks(int ticks) {
+        ((EventHorizon) cpu).skipTicks(ticks);
+        if(lastPid != RunningInspector.NO_PID) {
+            ticksRunWithPid += ticks;
+            mts.onCpuWork(ticks);
+        }
+        ticksElapsed += ticks;
+        sampleUtilization(ticks);
+        clock.advance(ticks);
     }
 
 
@@ -74,25 +172,37 @@ public class Kernel {
 
         flushTimelineAtEnd();
 
-        Clock.reset();
+        clock.reset();
 
         this.ram = this.ramSupplier.get();
+        this.ram.bindSeed(seed);
         this.vm = this.vmSupplier.get();
+        this.vm.bindClock(clock);
+        this.vm.setLifecycleListener(lifecycle);
         this.mts = this.mtsSupplier.get();
+        this.mts.setLifecycleListener(lifecycle);
+        timers.clear();
+        this.mts.bindTimers(timers);
         this.cpu = this.cpuSupplier.get();
+        this.cpu.bindClock(clock);
+        this.policyName = cpu.getClass().getSimpleName();
 
-        lastPid = null;
+        lastPid = RunningInspector.NO_PID;
         lastStart = 0;
         timeline.clear();
         registry.clear();
 
         ticksRunWithPid = 0;
         ticksElapsed = 0;
+        usedByteTicks = 0;
+        ramByteTicks = 0;
+        stalled = false;
     }
 
     public boolean isFinished() {
-        boolean ramEmpty = ram.viewReadyQueue().isEmpty();
-        boolean vmEmpty  = vm.viewNewQueue().isEmpty() && vm.viewSuspendedQueue().isEmpty();
+        // Lo que esta en transito con el dispositivo de swap cuenta como residente
+        boolean ramEmpty = ram.viewReadyQueue().isEmpty() && !mts.hasSwapInFlight();
+        boolean vmEmpty  = vm.viewNewQueue().isEmpty() && vm.viewSuspendedQueue().isEmpty() && !vm.hasBlockedSubmitters();
         boolean cpuIdle  = !cpu.isCpuBusy();
 
         // Termina únicamente cuando no hay nada en RAM ni en VM y la CPU está ociosa
@@ -105,17 +215,24 @@ public class Kernel {
     }
 
     public void loadJobsAtBoot(String url) {
-        vm.loadAtBoot(url);
-        harvestRegistry();
+        for(PCB p : vm.loadAtBoot(url, registry.table())) {
+            registry.register(p);
+            vm.submit(p);
+        }
     }
 
-    public void addProcess(PCB p) {
+    // Todo envio queda registrado; con la cola NEW acotada puede terminar REJECTED o esperar bloqueado
+    public VirtualMemory.Offer addProcess(PCB p) {
         p.changeStatus(Status.NEW);
-        vm.allocate(p);
+        registry.register(p);
+        return vm.submit(p);
     }
 
     public MemoryView getMemoryView() {
-        return new MemoryView(ram.getMemorySize(),ram.getMemoryUsed(),ram.getFreeMemory());
+        return new MemoryView(ram.getMemorySize(),ram.getMemoryUsed(),ram.getFreeMemory(),
+                ram.getLargestHole(),ram.getHoleCount(),ram.getExternalFragmentation(),
+                ram.getCompactions(),ram.getFragmentationMisses(),
+                ramByteTicks > 0 ? (double) usedByteTicks / ramByteTicks : 0);
     }
 
     public List<TimelineSlice> getTimeline() {
@@ -124,7 +241,7 @@ public class Kernel {
 
     public List<ProcessRow> getProcessTable() {
         List<ProcessRow> rows = new ArrayList<>();
-        for(PCB p : snapshotAllByIdentity()) {
+        for(PCB p : registry.all()) {
             rows.add(new ProcessRow(
                     p.getPid(),
                     p.getUserId(),
@@ -155,7 +272,7 @@ public class Kernel {
         long sumTurnaround = 0;
         long sumResponse = 0;
         long sumWaiting = 0;
-        for(PCB p : registry.values()) {
+        for(PCB p : registry.all()) {
             int turnaround = p.calculateTurnaroundTime();
             int response = p.calculateResponseTime();
             int waiting = p.calculateWaitingTime();
@@ -170,7 +287,72 @@ public class Kernel {
         return new Averages(avgTurnaround, avgResponse, avgWaiting);
     }
 
-    public String getActualPolicyName() { return cpu.getClass().getSimpleName(); }
+    public PagingStats getPagingStats() {
+        double throughput = ticksElapsed > 0 ? (double) registry.getTerminated() / ticksElapsed : 0;
+        Pager pg = ram.getPager();
+        if(pg == null) return new PagingStats(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, throughput);
+        long refs = pg.getReferences();
+        return new PagingStats(
+                pg.getFrames(), pg.getFramesUsed(),
+                refs, pg.getTlbHits(), pg.getTlbMisses(), pg.getPageFaults(),
+                pg.getEvictions(), pg.getWritebacks(), ram.getPagingStallTicks(),
+                refs > 0 ? (double) pg.getPageFaults() / refs : 0,
+                refs > 0 ? (double) pg.getTlbHits() / refs : 0,
+                throughput
+        );
+    }
+
+    public SwapStats getSwapStats() {
+        long evictions = mts.getEvictions();
+        return new SwapStats(String.valueOf(mts.getStrategy()),
+                evictions, mts.getSwappedOutBytes(), mts.getSwappedInBytes(),
+                evictions > 0 ? (double) mts.getSwappedOutBytes() / evictions : 0);
+    }
+
+    public List<SwapTierStats> getSwapTierStats() {
+        SwapDevice swap = mts.getSwapDevice();
+        return swap == null ? List.of() : swap.stats(clock.time());
+    }
+
+    // Throughput crudo (terminados por tick) y efectivo (rafagas ejecutadas por tick): con
+    // thrashing el reloj avanza mientras los procesos esperan al swap y el efectivo cae primero
+    public LoadStats getLoadStats() {
+        double throughput = ticksElapsed > 0 ? (double) registry.getTerminated() / ticksElapsed : 0;
+        double effective = ticksElapsed > 0 ? (double) ticksRunWithPid / ticksElapsed : 0;
+        return new LoadStats(mts.isLoadControlled(), mts.isThrashing(), mts.getThrashingEpochs(),
+                mts.getSwapInterval(), mts.getMinResidency(), mts.getMultiprogrammingCap(), mts.getResident(),
+                mts.getSwapRatio(), mts.getUsefulFraction(),
+                throughput, effective);
+    }
+
+    // Procesos con plazo: la tardanza es fin - plazo absoluto (negativa si terminaron antes).
+    // Cuentan como perdidos los que terminaron tarde y los que siguen vivos con el plazo vencido
+    public DeadlineStats getDeadlineStats() {
+        int realtime = 0, completed = 0, missed = 0, maxLateness = Integer.MIN_VALUE;
+        long sumLateness = 0;
+        int now = clock.time();
+        for(PCB p : registry.all()) {
+            if(!p.isRealtime() || p.getStatus() == Status.REJECTED) continue;
+            realtime++;
+            int deadline = p.getAbsoluteDeadline();
+            if(p.getStatus() == Status.TERMINATED) {
+                int lateness = p.getCompletionTime() - deadline;
+                completed++;
+                sumLateness += lateness;
+                maxLateness = Math.max(maxLateness, lateness);
+                if(lateness > 0) missed++;
+            } else if(deadline >= 0 && now > deadline) {
+                missed++;
+            }
+        }
+        return new DeadlineStats(realtime, completed, missed, mts.getDeadlineRejections(),
+                completed > 0 ? (double) sumLateness / completed : 0, completed > 0 ? maxLateness : 0,
+                mts.getRealtimeUtilization(), mts.getUtilizationBound());
+    }
+
+    public List<BacklogStats> getBacklogStats() { return vm.backlogStats(); }
+
+    public String getActualPolicyName() { return policyName; }
 
     public Map<String,List<PCB>> getQueues() {
         Map<String, List<PCB>> q = new LinkedHashMap<>();
@@ -186,31 +368,82 @@ public class Kernel {
                 vm.viewSuspendedQueue().
                         stream().toList()
         );
+        q.put("VM_BLOCKED", vm.viewBlockedSubmitters());
+        SwapDevice swap = mts.getSwapDevice();
+        q.put("SWAP_IO", swap == null ? List.of() : swap.viewInFlight());
         return q;
     }
 
-    public void setShortTerm(IScheduler newCpuPolicy) { this.cpu = Objects.requireNonNull(newCpuPolicy); }
-    public void setRamSize(int bytes) { ram.resizeMemory(bytes); }
+    public void setShortTerm(IScheduler newCpuPolicy) {
+        this.cpu = Objects.requireNonNull(newCpuPolicy);
+        this.cpu.bindClock(clock);
+        this.policyName = cpu.getClass().getSimpleName();
+        // La nueva politica no vio las admisiones previas: se las reenviamos
+        if(cpu instanceof LifecycleListener l) {
+            for(PCB p : ram.viewReadyQueue()) {
+                if(p.getStatus() == Status.READY) l.onAdmit(p, VirtualMemory.VirtualQueue.NEW);
+            }
+        }
+    }
+    public int currentTick() { return clock.time(); }
+
+    // Los PIDs ya son secuenciales por corrida; la semilla fija cualquier aleatoriedad de los componentes
+    public RunSeed getSeed() { return seed; }
+    public void setSeed(long master) {
+        seed.setMaster(master);
+        ram.bindSeed(seed);
+    }
 
-    private void harvestRegistry() {
-        if(!ram.viewReadyQueue().isEmpty()) for(PCB p : ram.viewReadyQueue()) registry.putIfAbsent(p.getPid(), p);
-        if(!vm.viewNewQueue().isEmpty()) for(PCB p: vm.viewNewQueue()) registry.putIfAbsent(p.getPid(), p);
-        if(!vm.viewSuspendedQueue().isEmpty()) for(PCB p: vm.viewSuspendedQueue()) registry.putIfAbsent(p.getPid(), p);
+    // Huella de la corrida (linea de tiempo + tabla de procesos) para comparar dos ejecuciones
+    public String getRunDigest() {
+        long h = 0xCBF29CE484222325L;
+        for(TimelineSlice s : timeline) {
+            h = digest(h, s.startTick());
+            h = digest(h, s.endTick());
+            h = digest(h, s.pid());
+            h = digest(h, s.queue() == null ? 0 : s.queue().hashCode());
+        }
+        for(ProcessRow r : getProcessTable()) {
+            h = digest(h, r.pid());
+            h = digest(h, r.status().ordinal());
+            h = digest(h, r.arrival());
+            h = digest(h, r.priority());
+            h = digest(h, r.firstRun());
+            h = digest(h, r.completion());
+            h = digest(h, r.burstRemaining());
+        }
+        return String.format("%016x", h);
     }
 
-    private Long findRunningPid() {
+    private static long digest(long h, long v) {
+        for(int i = 0; i < 8; i++) {
+            h ^= (v >>> (i * 8)) & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+    public void setRamSize(int bytes) {
+        ram.resizeMemory(bytes);
+        vm.setParkLimit(ram.getMaxAllocatable());
+    }
+
+    private void sampleUtilization(int ticks) {
+        usedByteTicks += (long) ram.getMemoryUsed() * ticks;
+        ramByteTicks += (long) ram.getMemorySize() * ticks;
+    }
+
+    private long findRunningPid() {
         if (cpu instanceof RunningInspector ri) return ri.currentPid();
         for (PCB p : ram.viewReadyQueue()) if (p.getStatus() == Status.RUNNING) return p.getPid();
-        return null;
+        return RunningInspector.NO_PID;
     }
 
-    private void updateGantt(int tick, String policy) {
-        String nowLane = (cpu instanceof  RunningInspector ri) ? ri.currentLane() : null;
-        Long nowPid = findRunningPid();
-        boolean changed = !Objects.equals(nowPid, lastPid);
-        if(changed) {
-            if(lastPid != null) {
-                timeline.add(new TimelineSlice(lastStart, tick, lastPid,policy,lastLane));
+    private void updateGantt(int tick, long nowPid) {
+        if(nowPid != lastPid) {
+            String nowLane = (cpu instanceof  RunningInspector ri) ? ri.currentLane() : null;
+            if(lastPid != RunningInspector.NO_PID) {
+                timeline.add(new TimelineSlice(lastStart, tick, lastPid,policyName,lastLane));
+                mts.onDeschedule(lastPid, tick);
 
             }
             lastPid = nowPid;
@@ -220,28 +453,17 @@ public class Kernel {
     }
 
     public void flushTimelineAtEnd() {
-        int tick = Clock.time();
-        if(lastPid != null) {
-            timeline.add(new TimelineSlice(lastStart,tick,lastPid,cpu.getClass().getSimpleName(),lastLane));
-            lastPid = null;
+        int tick = clock.time();
+        if(lastPid != RunningInspector.NO_PID) {
+            timeline.add(new TimelineSlice(lastStart,tick,lastPid,policyName,lastLane));
+            lastPid = RunningInspector.NO_PID;
         }
     }
 
-    private Collection<PCB> snapshotAllByIdentity() {
-        // Unión RAM + VM + lo que ya tenías en registry, deduplicado por identidad de objeto
-        Set<PCB> snap = Collections.newSetFromMap(new IdentityHashMap<>());
-        snap.addAll(registry.values());                 // terminados o admitidos previamente
-        snap.addAll(ram.viewReadyQueue());              // en RAM
-        snap.addAll(vm.viewNewQueue());                 // en VM (NEW)
-        snap.addAll(vm.viewSuspendedQueue());           // en VM (SUSPENDED)
-        return snap;
-    }
-
     private boolean allInVmAreOversized() {
-        int cap = ram.getMemorySize();
         boolean any = false;
-        for (PCB p : vm.viewNewQueue())       { any = true; if (p.getRamSize() <= cap) return false; }
-        for (PCB p : vm.viewSuspendedQueue()) { any = true; if (p.getRamSize() <= cap) return false; }
+        for (PCB p : vm.viewNewQueue())       { any = true; if (ram.canEverFit(p.getRamSize())) return false; }
+        for (PCB p : vm.viewSuspendedQueue()) { any = true; if (ram.canEverFit(p.getRamSize())) return false; }
         return any;
     }
 
@@ -0,0 +1,85 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.process.PCB;
+
+import java.util.*;
+
+// Subconjunto de una ventana de candidatos que mas llena 'capacity' (subset-sum con bitsets).
+// Con capacidades grandes los tamaños se redondean hacia arriba a unidades de capacity/2^16:
+// el resultado nunca se pasa, a lo sumo deja un poco sin usar.
+final class KnapsackPacker {
+    private static final int MAX_UNITS = 1 << 16;
+
+    private final int window;
+    private final int[] weight;
+    private long[][] reach = new long[0][];
+    private final List<PCB> chosen = new ArrayList<>();
+
+    KnapsackPacker(int window) {
+        if(window <= 0) throw new IllegalArgumentException("Knapsack window must be positive");
+        this.window = window;
+        this.weight = new int[window];
+    }
+
+    int window() { return window; }
+
+    // Elegidos de mayor a menor (FIFO entre iguales); la lista se reutiliza entre llamadas
+    List<PCB> pack(List<PCB> items, int capacity) {
+        chosen.clear();
+        int n = Math.min(items.size(), window);
+        if(n == 0 || capacity <= 0) return chosen;
+        int unit = Math.max(1, (capacity + MAX_UNITS - 1) / MAX_UNITS);
+        int cap = capacity / unit;
+        int words = (cap >>> 6) + 1;
+        ensure(n + 1, words);
+
+        Arrays.fill(reach[0], 0, words, 0L);
+        reach[0][0] = 1L;
+        for(int i = 0; i < n; i++) {
+            int w = (items.get(i).getRamSize() + unit - 1) / unit;
+            weight[i] = w;
+            shiftOr(reach[i], reach[i + 1], w, words, cap);
+        }
+
+        int best = highest(reach[n], words);
+        for(int i = n; i >= 1 && best > 0; i--) {
+            if(bit(reach[i - 1], best)) continue;
+            chosen.add(items.get(i - 1));
+            best -= weight[i - 1];
+        }
+        Collections.reverse(chosen);
+        chosen.sort(Comparator.comparingInt(PCB::getRamSize).reversed());
+        return chosen;
+    }
+
+    private void ensure(int rows, int words) {
+        if(reach.length >= rows && reach[0].length >= words) return;
+        int w = Math.max(words, reach.length > 0 ? reach[0].length : 0);
+        reach = new long[Math.max(rows, reach.length)][w];
+    }
+
+    // dst = src | (src << w), sin bits por encima de cap
+    private static void shiftOr(long[] src, long[] dst, int w, int words, int cap) {
+        int ws = w >>> 6;
+        int bs = w & 63;
+        for(int j = words - 1; j >= 0; j--) {
+            long v = src[j];
+            int k = j - ws;
+            if(k >= 0) {
+                v |= src[k] << bs;
+                if(bs != 0 && k > 0) v |= src[k - 1] >>> (64 - bs);
+            }
+            dst[j] = v;
+        }
+        dst[words - 1] &= -1L >>> (63 - (cap & 63));
+    }
+
+    private static int highest(long[] bits, int words) {
+        for(int j = words - 1; j >= 0; j--) {
+            if(bits[j] != 0) return (j << 6) + 63 - Long.numberOfLeadingZeros(bits[j]);
+        }
+        return 0;
+    }
+
+    private static boolean bit(long[] bits, int i) { return (bits[i >>> 6] & (1L << (i & 63))) != 0; }
+}
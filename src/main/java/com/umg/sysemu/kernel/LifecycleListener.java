@@ -0,0 +1,12 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.process.PCB;
+
+// Transiciones de un proceso dentro del sistema; las emiten Kernel, VirtualMemory y MLTermScheduler
+public interface LifecycleListener {
+    default void onAdmit(PCB p, VirtualMemory.VirtualQueue from) {}
+    default void onSuspend(PCB p) {}
+    default void onTerminate(PCB p) {}
+    // Sale del sistema sin correr: rechazado al llegar o descartado de la cola 'from'
+    default void onReject(PCB p, VirtualMemory.VirtualQueue from) {}
+}
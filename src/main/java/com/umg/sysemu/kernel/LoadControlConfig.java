@@ -0,0 +1,22 @@
+package com.umg.sysemu.kernel;
+
+// Control de carga del planificador de mediano plazo. Cada epochTicks se mide, sobre los
+// ultimos windowTicks, cuantas operaciones de swap hubo por tick de CPU util: por encima de
+// thrashRatio (o con la CPU util bajo minUsefulFraction mientras se hace swap) se frena,
+// por debajo de calmRatio se relaja.
+public record LoadControlConfig(
+        int windowTicks, int epochTicks,
+        double thrashRatio, double calmRatio, double minUsefulFraction,
+        int maxSwapInterval, int maxResidency, int minMultiprogramming
+) {
+    public LoadControlConfig {
+        if(epochTicks <= 0) throw new IllegalArgumentException("Load control epoch must be positive");
+        if(windowTicks < epochTicks) throw new IllegalArgumentException("Load control window must cover at least one epoch");
+        if(calmRatio > thrashRatio) throw new IllegalArgumentException("Calm ratio must not exceed the thrashing ratio");
+        if(minMultiprogramming <= 0) throw new IllegalArgumentException("Minimum multiprogramming must be positive");
+    }
+
+    public static LoadControlConfig defaults() {
+        return new LoadControlConfig(40, 10, 0.25, 0.05, 0.5, 80, 48, 1);
+    }
+}
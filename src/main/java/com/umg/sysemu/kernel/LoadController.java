@@ -0,0 +1,77 @@
+package com.umg.sysemu.kernel;
+
+// Ventana deslizante de muestras por epoca (ticks, operaciones de swap y ticks de CPU util
+// acumulados) y las perillas que ajusta: intervalo entre swaps, residencia minima y tope
+// de multiprogramacion. Al frenar duplica y recorta; al relajar vuelve a la mitad y suma uno.
+final class LoadController {
+    static final int NO_CAP = Integer.MAX_VALUE;
+
+    private final LoadControlConfig config;
+    private final int baseSwapInterval;
+    private final int baseResidency;
+
+    private final int[] tickAt;
+    private final long[] swapsAt;
+    private final long[] usefulAt;
+    private int head;
+    private int samples;
+
+    private int swapInterval;
+    private int residency;
+    private int mplCap = NO_CAP;
+    private double swapRatio;
+    private double usefulFraction = 1.0;
+    private boolean thrashing;
+    private long thrashingEpochs;
+
+    LoadController(LoadControlConfig config, int baseSwapInterval, int baseResidency) {
+        this.config = config;
+        this.baseSwapInterval = baseSwapInterval;
+        this.baseResidency = baseResidency;
+        this.swapInterval = baseSwapInterval;
+        this.residency = baseResidency;
+        int slots = config.windowTicks() / config.epochTicks() + 1;
+        this.tickAt = new int[slots];
+        this.swapsAt = new long[slots];
+        this.usefulAt = new long[slots];
+    }
+
+    int epochTicks() { return config.epochTicks(); }
+
+    void sample(int tick, long swaps, long useful, int resident) {
+        head = (head + 1) % tickAt.length;
+        tickAt[head] = tick;
+        swapsAt[head] = swaps;
+        usefulAt[head] = useful;
+        if(samples < tickAt.length) samples++;
+        if(samples < 2) return;
+
+        int oldest = (head - samples + 1 + tickAt.length) % tickAt.length;
+        long ticks = tickAt[head] - tickAt[oldest];
+        long dSwaps = swapsAt[head] - swapsAt[oldest];
+        long dUseful = usefulAt[head] - usefulAt[oldest];
+        swapRatio = (double) dSwaps / Math.max(1, dUseful);
+        usefulFraction = ticks > 0 ? (double) dUseful / ticks : 1.0;
+        thrashing = swapRatio > config.thrashRatio() || (dSwaps > 0 && usefulFraction < config.minUsefulFraction());
+
+        if(thrashing) {
+            thrashingEpochs++;
+            swapInterval = Math.min(config.maxSwapInterval(), swapInterval * 2);
+            residency = Math.min(config.maxResidency(), residency * 2);
+            mplCap = Math.max(config.minMultiprogramming(), Math.min(mplCap, resident) - 1);
+        } else if(swapRatio < config.calmRatio()) {
+            swapInterval = Math.max(baseSwapInterval, swapInterval / 2);
+            residency = Math.max(baseResidency, residency / 2);
+            // El tope deja de existir cuando ya no limita a lo que hay en RAM
+            if(mplCap != NO_CAP) mplCap = mplCap > resident ? NO_CAP : mplCap + 1;
+        }
+    }
+
+    int swapInterval() { return swapInterval; }
+    int residency() { return residency; }
+    int mplCap() { return mplCap; }
+    double swapRatio() { return swapRatio; }
+    double usefulFraction() { return usefulFraction; }
+    boolean isThrashing() { return thrashing; }
+    long thrashingEpochs() { return thrashingEpochs; }
+}
@@ -1,227 +1,582 @@
 package com.umg.sysemu.kernel;
 
+import com.umg.sysemu.collections.LongLongMap;
+import com.umg.sysemu.collections.LongObjectMap;
 import com.umg.sysemu.process.PCB;
 import com.umg.sysemu.process.Status;
 
 import java.util.*;
 
 public class MLTermScheduler {
-    public enum VictimPolicy { LOW_PRIORITY_FIRST }
+    // Estrategias incluidas; cualquier otra VictimStrategy se puede pasar al constructor
+    public enum VictimPolicy implements VictimStrategy {
+        // Menor prioridad primero; entre iguales el mas grande (menos evacuaciones)
+        LOW_PRIORITY_FIRST {
+            @Override
+            public long rank(PCB p, int inRamSince, int lastRun) {
+                return ((long) p.getPriority() << 32) | (Integer.MAX_VALUE - p.getRamSize());
+            }
+        },
+        // El que lleva mas tiempo sin pasar por CPU
+        LRU {
+            @Override
+            public long rank(PCB p, int inRamSince, int lastRun) { return lastRun; }
+
+            @Override
+            public boolean dynamic() { return true; }
+        },
+        // El mas grande primero: el menor numero de evacuaciones para liberar lo pedido
+        LARGEST_FIRST {
+            @Override
+            public long rank(PCB p, int inRamSince, int lastRun) { return -p.getRamSize(); }
+        },
+        // Aproximacion al conjunto de menos bytes que cubre lo pedido: de mayor a menor se toma
+        // hasta que algun proceso alcanza el resto, y entonces el menor de los que lo alcanzan
+        SMALLEST_SUFFICIENT {
+            @Override
+            public long rank(PCB p, int inRamSince, int lastRun) { return p.getRamSize(); }
+
+            @Override
+            public void select(Candidates candidates, long needed, List<PCB> out) {
+                long rest = needed;
+                PCB cover = null;
+                for(PCB p : candidates.descending()) {
+                    if(p.getRamSize() >= rest) {
+                        cover = p;
+                        continue;
+                    }
+                    if(cover != null) break;
+                    out.add(p);
+                    rest -= p.getRamSize();
+                }
+                if(cover != null) out.add(cover);
+                else out.clear();
+            }
+        },
+        // Los que estan por terminar salen al final: evacuarlos retrasa poco trabajo y cuesta un swap entero
+        LEAST_REMAINING_WORK_LAST {
+            @Override
+            public long rank(PCB p, int inRamSince, int lastRun) { return -p.getCpuBursts(); }
+
+            @Override
+            public boolean dynamic() { return true; }
+        },
+        // Costo por byte liberado: sacar y volver a traer cuesta un fijo mas el tamaño,
+        // ponderado por la prioridad; los grandes y de baja prioridad salen primero
+        COST_AWARE {
+            private static final long SWAP_SETUP_BYTES = 256;
+
+            @Override
+            public long rank(PCB p, int inRamSince, int lastRun) {
+                long size = Math.max(1, p.getRamSize());
+                return p.getPriority() * 2 * (SWAP_SETUP_BYTES + size) * 1000 / size;
+            }
+        }
+    }
+
+    private final VictimStrategy strategy;
 
-    private VictimPolicy policy;
+    // Como se eligen los que entran sin evacuar a nadie. BEST_FIT_DECREASING: el mayor que cabe;
+    // FIFO: la cabeza mientras quepa; KNAPSACK: el subconjunto de los primeros K que mas llena
+    // la RAM libre, y luego el mayor que cabe para lo que sobre
+    public enum AdmissionPolicy { FIFO, BEST_FIT_DECREASING, KNAPSACK }
+
+    private static final int DEFAULT_KNAPSACK_WINDOW = 16;
+    private AdmissionPolicy admission = AdmissionPolicy.BEST_FIT_DECREASING;
+    private KnapsackPacker packer = new KnapsackPacker(DEFAULT_KNAPSACK_WINDOW);
+    private final List<PCB> packWindow = new ArrayList<>();
+
+    // Guardia de aging: cuantas veces el mas antiguo de cada cola vio entrar a otro; al llegar a
+    // bypassLimit se le reserva la RAM hasta que entre. 0 la desactiva
+    private int bypassLimit = 0;
+    private final long[] guardPid = {-1, -1};
+    private final int[] guardBypassed = new int[2];
     private final int SWAP_INTERVAL_TICKS = 5;
     private final int MIN_RESIDENCY_TICKS = 3;
     private final int AGING_INTERVAL_TICKS = 10;
     private final int AGING_STEP = 3;
 
-    private int lastSwapTick = Integer.MIN_VALUE;
+    // La primera ventana de swap esta abierta desde el tick 0
+    private int lastSwapTick = -SWAP_INTERVAL_TICKS;
+
+    // Plazos de aging, residencia y ventana de swap viven en la TimerWheel del kernel
+    private TimerWheel timers = new TimerWheel();
+    private final LongObjectMap<TimerWheel.Timer> agingTimers = new LongObjectMap<>();
+    private TimerWheel.Timer swapWindow;
+    private final TimerWheel.Expiry aging = (t, tick) -> {
+        PCB p = (PCB) t.attachment();
+        for(int k = 0; k < AGING_STEP; k++) p.incrementPriority();
+        timers.reschedule(t, tick + AGING_INTERVAL_TICKS);
+    };
+    // Solo despierta al kernel en modo por eventos cuando se reabre la ventana de swap
+    private static final TimerWheel.Expiry WAKE_UP = (t, tick) -> {};
+
+    private LifecycleListener listener = new LifecycleListener() {};
+
+    private final VictimIndex victimIndex;
+
+    // Sin dispositivo el swap es instantaneo y gratis
+    private SwapDevice swap;
+
+    private long evictions;
+    private long swapIns;
+    private long swappedOutBytes;
+    private long swappedInBytes;
+    private int pendingSwapIns;
+    private int pendingSwapOuts;
+    // Bytes que se liberan al terminar las escrituras en curso
+    private long pendingOutBytes;
+
+    // Control de carga opcional: sin el, intervalo y residencia son las constantes y no hay tope
+    private LoadController load;
+    private TimerWheel.Timer loadEpoch;
+    private long usefulTicks;
+
+    // Prueba de admision de tiempo real: la densidad total de los admitidos (en millonesimas,
+    // para sumar y restar sin error) no pasa de la cota. 0 la desactiva. Los admitidos quedan
+    // fijados en RAM: un swap-out les haria perder el plazo que la prueba les garantizo
+    private static final long PPM = 1_000_000;
+    private long utilizationBoundPpm = 0;
+    private long realtimePpm;
+    private final LongLongMap realtimeLoad = new LongLongMap();
+    private long deadlineRejections;
+
+    public MLTermScheduler(VictimStrategy strategy) {
+        this.strategy = Objects.requireNonNull(strategy);
+        this.victimIndex = new VictimIndex(MIN_RESIDENCY_TICKS, strategy);
+    }
+
+    public VictimStrategy getStrategy() { return strategy; }
+
+    public void setAdmissionPolicy(AdmissionPolicy policy) { this.admission = Objects.requireNonNull(policy); }
+    public AdmissionPolicy getAdmissionPolicy() { return admission; }
+    public void setKnapsackWindow(int candidates) { this.packer = new KnapsackPacker(candidates); }
+
+    public void setBypassLimit(int limit) {
+        if(limit < 0) throw new IllegalArgumentException("Bypass limit must be non-negative");
+        this.bypassLimit = limit;
+    }
+    public long getEvictions() { return evictions; }
+    public long getSwappedOutBytes() { return swappedOutBytes; }
+    public long getSwappedInBytes() { return swappedInBytes; }
+    public long getSwapIns() { return swapIns; }
+    public long getUsefulTicks() { return usefulTicks; }
+
+    public void setLifecycleListener(LifecycleListener listener) { this.listener = Objects.requireNonNull(listener); }
+
+    // Los temporizadores de residencia, aging y E/S quedan en la rueda que los creo: solo se puede
+    // cambiar de rueda sin procesos en RAM ni en transito. La epoca de carga y la ventana de swap
+    // se cancelan en la rueda anterior y se rearman en la nueva
+    public void bindTimers(TimerWheel timers) {
+        Objects.requireNonNull(timers);
+        if(victimIndex.size() > 0 || !agingTimers.isEmpty() || (swap != null && !swap.isIdle()))
+            throw new IllegalStateException("Cannot rebind timers while processes are resident or in transit");
+        this.timers.cancel(loadEpoch);
+        loadEpoch = null;
+        int window = swapWindow != null && swapWindow.isScheduled() ? swapWindow.deadline() : -1;
+        this.timers.cancel(swapWindow);
+        swapWindow = null;
+
+        this.timers = timers;
+        victimIndex.bindTimers(timers);
+        if(swap != null) swap.bindTimers(timers);
+        if(window >= 0) swapWindow = timers.schedule(window, -1, null, WAKE_UP);
+        if(load != null) armLoadEpoch();
+    }
+
+    // La epoca se arma al enlazar la rueda del kernel (bindTimers)
+    public void enableLoadControl(LoadControlConfig config) {
+        this.load = new LoadController(config, SWAP_INTERVAL_TICKS, MIN_RESIDENCY_TICKS);
+        timers.cancel(loadEpoch);
+        loadEpoch = null;
+    }
+
+    // Con EDF una cota de 1.0 garantiza los plazos de los admitidos en un procesador
+    public void enableDeadlineAdmission(double utilizationBound) {
+        if(utilizationBound <= 0) throw new IllegalArgumentException("Utilization bound must be positive");
+        this.utilizationBoundPpm = Math.round(utilizationBound * PPM);
+    }
+
+    public double getUtilizationBound() { return (double) utilizationBoundPpm / PPM; }
+    public double getRealtimeUtilization() { return (double) realtimePpm / PPM; }
+    public long getDeadlineRejections() { return deadlineRejections; }
+
+    public boolean isLoadControlled() { return load != null; }
+    public int getSwapInterval() { return load == null ? SWAP_INTERVAL_TICKS : load.swapInterval(); }
+    public int getMinResidency() { return load == null ? MIN_RESIDENCY_TICKS : load.residency(); }
+    // -1 si no hay tope de multiprogramacion
+    public int getMultiprogrammingCap() { return load == null || load.mplCap() == LoadController.NO_CAP ? -1 : load.mplCap(); }
+    public int getResident() { return victimIndex.size() + pendingSwapIns; }
+    public double getSwapRatio() { return load == null ? 0 : load.swapRatio(); }
+    public double getUsefulFraction() { return load == null ? 0 : load.usefulFraction(); }
+    public boolean isThrashing() { return load != null && load.isThrashing(); }
+    public long getThrashingEpochs() { return load == null ? 0 : load.thrashingEpochs(); }
+
+    // El kernel informa los ticks en que la CPU avanzo trabajo de algun proceso
+    public void onCpuWork(int ticks) { usefulTicks += ticks; }
+
+    // La muestra es un temporizador: en modo por eventos el salto se detiene en cada epoca
+    private void armLoadEpoch() {
+        int at = timers.now() + load.epochTicks();
+        if(loadEpoch == null) loadEpoch = timers.schedule(at, -1, null, this::sampleLoad);
+        else timers.reschedule(loadEpoch, at);
+    }
+
+    private void sampleLoad(TimerWheel.Timer t, int tick) {
+        load.sample(tick, evictions + swapIns, usefulTicks, getResident());
+        victimIndex.setMinResidency(load.residency());
+        timers.reschedule(t, tick + load.epochTicks());
+    }
+
+    private boolean admissionOpen() { return load == null || getResident() < load.mplCap(); }
+
+    public void enableSwapDevice(SwapDevice device) {
+        this.swap = Objects.requireNonNull(device);
+        swap.bindTimers(timers);
+    }
+
+    public SwapDevice getSwapDevice() { return swap; }
+
+    // Procesos en transito entre RAM y el dispositivo: no estan en ninguna cola
+    public boolean hasSwapInFlight() { return swap != null && !swap.isIdle(); }
+
+    // El kernel avisa cuando un proceso termina para sacarlo del indice de victimas
+    public void onTerminate(PCB p) {
+        victimIndex.remove(p);
+        releaseRealtime(p);
+    }
+
+    // Descartado de la cola de suspendidos por su limite: ya no envejece ni ocupa el dispositivo
+    public void onReject(PCB p) {
+        timers.cancel(agingTimers.remove(p.getPid()));
+        if(swap != null) swap.discard(p);
+        releaseRealtime(p);
+    }
+
+    // False si el proceso de tiempo real haria el conjunto no planificable; entonces se rechaza
+    // en NEW sin llegar a RAM. Los ya admitidos (vuelven de swap) siguen contando y pasan
+    private boolean schedulable(PCB cand, VirtualMemory.VirtualQueue q, VirtualMemory vm) {
+        if(!exceedsBound(cand)) return true;
+        deadlineRejections++;
+        vm.rejectQueued(cand, q);
+        return false;
+    }
+
+    private boolean exceedsBound(PCB cand) {
+        return utilizationBoundPpm != 0 && cand.isRealtime() && !realtimeLoad.containsKey(cand.getPid())
+                && realtimePpm + densityPpm(cand) > utilizationBoundPpm;
+    }
 
-    private Map<Long,Integer> inRamSince;
-    private Map<Long, Integer> suspendedSince;
+    private void reserveRealtime(PCB p) {
+        if(utilizationBoundPpm == 0 || !p.isRealtime() || realtimeLoad.containsKey(p.getPid())) return;
+        long ppm = densityPpm(p);
+        realtimeLoad.put(p.getPid(), ppm);
+        realtimePpm += ppm;
+    }
 
-    public MLTermScheduler(VictimPolicy policy) {
-        this.policy = policy;
-        this.inRamSince = new HashMap<>();
-        this.suspendedSince = new HashMap<>();
+    private void releaseRealtime(PCB p) {
+        long ppm = realtimeLoad.getOrDefault(p.getPid(), -1);
+        if(ppm < 0) return;
+        realtimeLoad.remove(p.getPid());
+        realtimePpm -= ppm;
     }
 
+    private static long densityPpm(PCB p) { return (long) Math.ceil(p.getUtilization() * PPM); }
+
+    // El kernel avisa cuando un proceso deja la CPU (cambio de contexto o fin de rebanada)
+    public void onDeschedule(long pid, int tick) { victimIndex.descheduled(pid, tick); }
+
     public void execute(int tick, MainMemory mm, VirtualMemory vm) {
-        applyAgingToSuspended(vm, tick);
+        vm.setParkLimit(mm.getMaxAllocatable());
 
         loadWhileFits(mm,vm,VirtualMemory.VirtualQueue.NEW,tick);
         loadWhileFits(mm,vm,VirtualMemory.VirtualQueue.SUSPENDED,tick);
 
-        boolean needNew = !vm.viewNewQueue().isEmpty();
-        boolean needSuspend = !vm.viewSuspendedQueue().isEmpty();
-        boolean canSwap = (tick - lastSwapTick) >= SWAP_INTERVAL_TICKS;
+        boolean needNew = vm.viewNewQueue().candidates() > 0;
+        boolean needSuspend = vm.viewSuspendedQueue().candidates() > 0;
+        boolean canSwap = canSwapAt(tick);
 
         if((needNew || needSuspend) && canSwap) {
             boolean evictAndAdmit = false;
             evictAndAdmit |= admitWithEviction(mm,vm,VirtualMemory.VirtualQueue.NEW,tick);
             evictAndAdmit |= admitWithEviction(mm,vm,VirtualMemory.VirtualQueue.SUSPENDED,tick);
-            if(evictAndAdmit) lastSwapTick = tick;
+            if(evictAndAdmit) {
+                lastSwapTick = tick;
+                if(swapWindow == null) swapWindow = timers.schedule(tick + getSwapInterval(), -1, null, WAKE_UP);
+                else timers.reschedule(swapWindow, tick + getSwapInterval());
+            }
         }
+        mm.endAdmissionPass();
     }
 
-    private void loadWhileFits(MainMemory mm, VirtualMemory vm, VirtualMemory.VirtualQueue q, int tick) {
-        // Escaneo acotado: una vuelta completa como máximo
-        int maxScans = (q == VirtualMemory.VirtualQueue.NEW)
-                ? vm.viewNewQueue().size()
-                : vm.viewSuspendedQueue().size();
-        if (maxScans <= 0) return;
-
-        int scans = 0;
-        while (scans < maxScans) {
-            PCB cand = vm.peek(q);
-            if (cand == null) break;
-
-            // Si es imposible (más grande que la RAM total), no bloquea la cabeza
-            if (cand.getRamSize() > mm.getMemorySize()) {
-                cand = vm.deallocate(q);
-                vm.allocate(cand);
-                scans++;
-                continue;
-            }
+    // Ticks a partir de 'tick' en los que execute() no cambiaria nada (sin admision, swap ni aging)
+    public int quietTicks(int tick, MainMemory mm, VirtualMemory vm) {
+        if(vm.viewNewQueue().isEmpty() && vm.viewSuspendedQueue().isEmpty()) return Integer.MAX_VALUE;
+        // Con el tope lleno solo una terminacion (un tick normal) o la proxima epoca lo reabren
+        if(!admissionOpen()) return Integer.MAX_VALUE;
 
-            // ¿hay espacio suficiente?
-            if (mm.getFreeMemory() >= cand.getRamSize()) {
-                cand = vm.deallocate(q);
-                cand.changeStatus(Status.READY);
-                if (!mm.allocate(cand)) {
-                    // defensa, debería caber
-                    cand.changeStatus(q == VirtualMemory.VirtualQueue.NEW ? Status.NEW : Status.SUSPENDED);
-                    vm.allocate(cand);
-                    break;
-                }
-                inRamSince.put(cand.getPid(), tick);
-                suspendedSince.remove(cand.getPid());
-                stampFirstArrival(cand, tick);
-
-                // tras admitir, seguir intentando más (resetea ventana)
-                scans = 0;
-                // recalcula tamaño para evitar over/under-scan si la cola cambió
-                maxScans = (q == VirtualMemory.VirtualQueue.NEW)
-                        ? vm.viewNewQueue().size()
-                        : vm.viewSuspendedQueue().size();
-                continue;
-            }
+        if(wouldAdmit(mm, vm, VirtualMemory.VirtualQueue.NEW) || wouldAdmit(mm, vm, VirtualMemory.VirtualQueue.SUSPENDED)) return 0;
+
+        // Aging, residencia minima, reapertura de la ventana de swap y fin de las escrituras son
+        // temporizadores de la rueda: el kernel ya acota el salto por su proximo plazo
+        if(canSwapAt(tick) && (wouldEvict(mm, vm, VirtualMemory.VirtualQueue.NEW) || wouldEvict(mm, vm, VirtualMemory.VirtualQueue.SUSPENDED))) return 0;
+        return Integer.MAX_VALUE;
+    }
+
+    // Si admitWithEviction evacuaria a alguien por un candidato de la cola en este tick
+    private boolean wouldEvict(MainMemory mm, VirtualMemory vm, VirtualMemory.VirtualQueue q) {
+        SizeIndexedQueue queue = vm.queue(q);
+        long reachable = Math.min(mm.getMaxAllocatable(), mm.getFreeMemory() + pendingOutBytes + victimIndex.eligibleBytes());
+        PCB head = orderedHead(queue, q);
+        PCB cand = head != null ? head : queue.largestAtMost((int) reachable);
+        if(cand == null || cand.getRamSize() > reachable) return false;
+        // La prueba de tiempo real va antes que la busqueda de hueco: rechazarlo ya es un cambio
+        return exceedsBound(cand) || (victimIndex.eligibleBytes() > 0 && !awaitsSwapOut(cand, mm));
+    }
 
-            PCB head = vm.deallocate(q);
-            vm.allocate(head);
-            scans++;
+    // Si loadWhileFits admitiria a alguien de la cola en este tick
+    private boolean wouldAdmit(MainMemory mm, VirtualMemory vm, VirtualMemory.VirtualQueue q) {
+        SizeIndexedQueue queue = vm.queue(q);
+        if(queue.candidates() == 0) return false;
+        PCB head = orderedHead(queue, q);
+        if(head != null) return exceedsBound(head) || fitsNow(mm, head.getRamSize());
+        PCB cand = queue.largestAtMost(mm.getLargestHole());
+        if(cand != null) return true;
+        cand = queue.largestAtMost(mm.getFreeMemory());
+        // El empaquetado puede elegir a otro que entra por bytes y rechazarlo por tiempo real
+        return cand != null && (exceedsBound(cand) || mm.compactionCouldHelp(cand.getRamSize())
+                || (admission == AdmissionPolicy.KNAPSACK && utilizationBoundPpm != 0));
+    }
+
+    private boolean fitsNow(MainMemory mm, int size) { return mm.canFit(size) || mm.compactionCouldHelp(size); }
+
+    private boolean canSwapAt(int tick) { return (tick - lastSwapTick) >= getSwapInterval(); }
+
+    private void loadWhileFits(MainMemory mm, VirtualMemory vm, VirtualMemory.VirtualQueue q, int tick) {
+        SizeIndexedQueue queue = vm.queue(q);
+        if(queue.candidates() == 0) return;
+        PCB oldest = bypassLimit > 0 ? queue.oldestCandidate() : null;
+        if(starving(q, oldest)) {
+            // Nadie lo adelanta mas: entra en cuanto quepa y mientras tanto no entra otro
+            if(!admissionOpen()) return;
+            if(schedulable(oldest, q, vm) && (!mm.ensureFit(oldest.getRamSize()) || !admit(oldest, q, mm, vm, tick))) return;
+            oldest = queue.oldestCandidate();
         }
+        int admitted = switch(admission) {
+            case FIFO -> loadInOrder(mm, vm, q, tick);
+            case BEST_FIT_DECREASING -> loadLargestFirst(mm, vm, q, tick);
+            case KNAPSACK -> loadPacked(mm, vm, q, tick);
+        };
+        if(bypassLimit > 0) trackBypass(q, oldest, queue.contains(oldest) && admitted > 0);
     }
 
-    private boolean admitWithEviction(MainMemory mm, VirtualMemory vm, VirtualMemory.VirtualQueue q, int tick) {
-        boolean any = false;
+    // La cabeza que tiene que entrar primero (FIFO, o el mas antiguo en el limite de adelantos);
+    // null si se elige por tamaño. Sin FIFO ni guardia de adelantos no se la busca
+    private PCB orderedHead(SizeIndexedQueue queue, VirtualMemory.VirtualQueue q) {
+        if(admission != AdmissionPolicy.FIFO && bypassLimit <= 0) return null;
+        PCB head = queue.oldestCandidate();
+        return admission == AdmissionPolicy.FIFO || starving(q, head) ? head : null;
+    }
 
-        // tamaño de la cola para acotar el escaneo (evita loop infinito)
-        int maxScans = (q == VirtualMemory.VirtualQueue.NEW)
-                ? vm.viewNewQueue().size()
-                : vm.viewSuspendedQueue().size();
-        if (maxScans <= 0) return false;
-
-        int scans = 0;
-
-        while (true) {
-            PCB cand = vm.peek(q);
-            if (cand == null) break;
-
-            // Caso imposible: proceso más grande que la RAM total
-            if (cand.getRamSize() > mm.getMemorySize()) {
-                // Marcarlo o simplemente rotarlo al final para no bloquear la cabeza
-                cand = vm.deallocate(q);           // sacar cabeza
-                vm.allocate(cand);                 // re-encolar al final (sigue en su mismo estado NEW/SUSPENDED)
-                scans++;
-                if (scans >= maxScans) break;
-                continue;
-            }
+    private boolean starving(VirtualMemory.VirtualQueue q, PCB oldest) {
+        return bypassLimit > 0 && oldest != null
+                && guardPid[q.ordinal()] == oldest.getPid() && guardBypassed[q.ordinal()] >= bypassLimit;
+    }
 
-            int need = cand.getRamSize() - mm.getFreeMemory();
-            if (need <= 0) {
-                // Cabe sin evacuar: admitir
-                cand = vm.deallocate(q);
-                cand.changeStatus(Status.READY);
-                if (!mm.allocate(cand)) {
-                    // fallback: restaurar si por alguna razón falló
-                    cand.changeStatus(q == VirtualMemory.VirtualQueue.NEW ? Status.NEW : Status.SUSPENDED);
-                    vm.allocate(cand);
-                    break;
-                }
-                inRamSince.put(cand.getPid(), tick);
-                suspendedSince.remove(cand.getPid());
-                stampFirstArrival(cand, tick);
-                any = true;
-                scans = 0;                          // éxito -> resetea ventana de escaneo
-                continue;
-            }
+    private void trackBypass(VirtualMemory.VirtualQueue q, PCB oldest, boolean bypassed) {
+        int k = q.ordinal();
+        if(oldest == null || guardPid[k] != oldest.getPid()) {
+            guardPid[k] = oldest == null ? -1 : oldest.getPid();
+            guardBypassed[k] = 0;
+        }
+        if(bypassed) guardBypassed[k]++;
+    }
 
-            // Intentar con víctimas
-            List<PCB> victims = pickVictims(mm.viewReadyQueue(), need, tick);
+    // Siempre el mayor que cabe (FIFO entre iguales): sin rotar la cola ni reescanearla
+    private int loadLargestFirst(MainMemory mm, VirtualMemory vm, VirtualMemory.VirtualQueue q, int tick) {
+        SizeIndexedQueue queue = vm.queue(q);
+        int admitted = 0;
+        while(admissionOpen()) {
+            PCB cand = queue.largestAtMost(mm.getLargestHole());
+            boolean fits = cand != null;
+            if(!fits) cand = queue.largestAtMost(mm.getFreeMemory());
+            if(cand == null) break;
+            // Rechazado por la prueba de tiempo real: salio de la cola y la pasada sigue con otro
+            if(!schedulable(cand, q, vm)) continue;
+            // Puede que solo falte hueco contiguo: ensureFit cuenta el fallo y compacta si puede
+            if(!fits && !mm.ensureFit(cand.getRamSize())) break;
+            if(!admit(cand, q, mm, vm, tick)) break;
+            admitted++;
+        }
+        return admitted;
+    }
 
-            if (victims.isEmpty()) {
-                // No puedo liberar lo suficiente para ESTA cabeza AHORA -> rotar y probar siguiente
-                PCB head = vm.deallocate(q);
-                vm.allocate(head);
-                scans++;
-                if (scans >= maxScans) break;
-                continue;
-            }
+    // Estricto orden de llegada: si la cabeza no cabe, espera y nadie la adelanta
+    private int loadInOrder(MainMemory mm, VirtualMemory vm, VirtualMemory.VirtualQueue q, int tick) {
+        SizeIndexedQueue queue = vm.queue(q);
+        int admitted = 0;
+        while(admissionOpen()) {
+            PCB head = queue.oldestCandidate();
+            if(head == null) break;
+            if(!schedulable(head, q, vm)) continue;
+            if(!mm.ensureFit(head.getRamSize()) || !admit(head, q, mm, vm, tick)) break;
+            admitted++;
+        }
+        return admitted;
+    }
 
-            // Evacuar víctimas seleccionadas
-            for (PCB v : victims) {
-                PCB out = mm.deallocate(v);
-                if (out != null) {
-                    out.changeStatus(Status.SUSPENDED);
-                    vm.allocate(out);
-                    inRamSince.remove(out.getPid());
-                    suspendedSince.put(out.getPid(), tick);
-                }
-            }
+    private int loadPacked(MainMemory mm, VirtualMemory vm, VirtualMemory.VirtualQueue q, int tick) {
+        SizeIndexedQueue queue = vm.queue(q);
+        queue.firstCandidates(packer.window(), packWindow);
+        int admitted = 0;
+        for(PCB p : packer.pack(packWindow, mm.getFreeMemory())) {
+            if(!admissionOpen()) break;
+            if(!schedulable(p, q, vm)) continue;
+            // Con fragmentacion la suma puede caber sin que quepa cada uno
+            if(!mm.ensureFit(p.getRamSize())) continue;
+            if(!admit(p, q, mm, vm, tick)) break;
+            admitted++;
+        }
+        packWindow.clear();
+        return admitted + loadLargestFirst(mm, vm, q, tick);
+    }
 
-            // Reintentar admisión del candidato (ahora debería caber)
-            if (mm.getFreeMemory() >= cand.getRamSize()) {
-                cand = vm.deallocate(q);
-                cand.changeStatus(Status.READY);
-                if (!mm.allocate(cand)) {
-                    cand.changeStatus(q == VirtualMemory.VirtualQueue.NEW ? Status.NEW : Status.SUSPENDED);
-                    vm.allocate(cand);
-                    break;
-                }
-                inRamSince.put(cand.getPid(), tick);
-                suspendedSince.remove(cand.getPid());
-                stampFirstArrival(cand, tick);
-                any = true;
-                scans = 0;
-            } else {
-                // Algo falló al liberar: rota y sigue
-                PCB head = vm.deallocate(q);
-                vm.allocate(head);
-                scans++;
-                if (scans >= maxScans) break;
+    // Candidatos del indice por tamaño, del mayor al menor, entre los que podrian entrar evacuando
+    // (tamaño <= libre + bytes elegibles): sin copiar la cola y sin consultar victimas para quien no
+    // puede alcanzar. Si uno no consigue hueco, los de su tamaño tampoco: la busqueda sigue por debajo.
+    // Con FIFO, o con el mas antiguo en el limite de adelantos, solo la cabeza puede evacuar
+    private boolean admitWithEviction(MainMemory mm, VirtualMemory vm, VirtualMemory.VirtualQueue q, int tick) {
+        SizeIndexedQueue queue = vm.queue(q);
+        PCB oldest = bypassLimit > 0 ? queue.oldestCandidate() : null;
+        boolean any = false;
+        int below = mm.getMaxAllocatable();
+        while(admissionOpen()) {
+            long reachable = Math.min(below, mm.getFreeMemory() + pendingOutBytes + victimIndex.eligibleBytes());
+            PCB head = orderedHead(queue, q);
+            boolean inOrder = head != null;
+            PCB cand = inOrder ? head : queue.largestAtMost((int) reachable);
+            if(cand == null || cand.getRamSize() > reachable) break;
+            if(!schedulable(cand, q, vm)) continue;
+            // Si su lectura no entra en la cola de E/S no tiene sentido evacuar por el
+            if((swap != null && !swap.canSwapIn(cand)) || !makeRoom(cand, mm, vm, tick)) {
+                if(inOrder) break;
+                below = cand.getRamSize() - 1;
+                continue;
             }
+            if(!admit(cand, q, mm, vm, tick)) break;
+            any = true;
         }
+        if(bypassLimit > 0) trackBypass(q, oldest, queue.contains(oldest) && any);
         return any;
     }
 
-    private List<PCB> pickVictims(List<PCB> readyQueue, int memoryNeeded, int tick) {
-        List<PCB> cands = new ArrayList<>();
-        for (PCB p : readyQueue) {
-            if (p.getStatus() != Status.READY) continue;
-            int since = inRamSince.getOrDefault(p.getPid(), Integer.MIN_VALUE);
-            if (tick - since < MIN_RESIDENCY_TICKS) continue;
-            cands.add(p);
+    private boolean awaitsSwapOut(PCB cand, MainMemory mm) {
+        return pendingOutBytes > 0 && cand.getRamSize() <= mm.getFreeMemory() + pendingOutBytes;
+    }
+
+    // Cabe ya, o se evacuan victimas hasta que se abra un hueco; con fragmentacion lo elegido puede
+    // no bastar y se sigue en orden de victima
+    // No compacta: la pausa de la copia ya cumple la residencia minima y reabre la ventana de swap,
+    // y cada ventana volveria a evacuar y compactar. Compactar queda para la carga sin victimas
+    private boolean makeRoom(PCB cand, MainMemory mm, VirtualMemory vm, int tick) {
+        if(mm.canFit(cand.getRamSize())) return true;
+        // Lo que ya se esta escribiendo alcanza: se espera la E/S en vez de evacuar a otro
+        if(awaitsSwapOut(cand, mm)) return false;
+        int need = (int) Math.max(1, cand.getRamSize() - mm.getFreeMemory() - pendingOutBytes);
+        List<PCB> victims = victimIndex.pick(need);
+        if(victims.isEmpty()) return false;
+        for(PCB v : victims) {
+            if(!evict(v, cand, mm, vm, tick)) return false;
+            if(mm.canFit(cand.getRamSize())) return true;
         }
-        cands.sort((a,b) -> {
-            int byPriority = Integer.compare(a.getPriority(), b.getPriority());
-            if (byPriority != 0) return byPriority;
-            int bySize = Integer.compare(b.getRamSize(), a.getRamSize());
-            if (bySize != 0) return bySize;
-            int aSince = inRamSince.getOrDefault(a.getPid(), Integer.MIN_VALUE);
-            int bSince = inRamSince.getOrDefault(b.getPid(), Integer.MIN_VALUE);
-            return Integer.compare(aSince, bSince);
-        });
-
-        int acc = 0;
-        List<PCB> victims = new ArrayList<>();
-        for (PCB p : cands) {
-            victims.add(p);
-            acc += p.getRamSize();
-            if (acc >= memoryNeeded) break;
+        PCB more;
+        while((more = victimIndex.first()) != null) {
+            if(!evict(more, cand, mm, vm, tick)) return false;
+            if(mm.canFit(cand.getRamSize())) return true;
         }
-        if (acc < memoryNeeded) return Collections.emptyList();
-        return victims;
+        return false;
     }
 
-    private void applyAgingToSuspended(VirtualMemory vm, int tick) {
-        for(PCB p : vm.viewSuspendedQueue()) {
-            Long pid = p.getPid();
-            int last = suspendedSince.getOrDefault(pid, tick);
-            if(tick - last >= AGING_INTERVAL_TICKS) {
-                for(int k = 0; k < AGING_STEP; k++) p.incrementPriority();
-                suspendedSince.put(pid, tick);
-            }
+    // True si entro a RAM o arranco su swap-in; la prueba de tiempo real la hace antes quien llama
+    private boolean admit(PCB cand, VirtualMemory.VirtualQueue q, MainMemory mm, VirtualMemory vm, int tick) {
+        if(swap != null && swap.holds(cand)) return swapIn(cand, mm, vm, tick);
+        // Ya no esta en la cola (descartado o rechazado mientras se le hacia lugar): no entra
+        if(!vm.remove(cand, q)) return false;
+        cand.changeStatus(Status.READY);
+        if(!mm.allocate(cand)) {
+            // defensa, debería caber
+            cand.changeStatus(q == VirtualMemory.VirtualQueue.NEW ? Status.NEW : Status.SUSPENDED);
+            vm.allocate(cand);
+            return false;
+        }
+        if(q == VirtualMemory.VirtualQueue.SUSPENDED) {
+            swapIns++;
+            swappedInBytes += cand.getRamSize();
+        }
+        timers.cancel(agingTimers.remove(cand.getPid()));
+        reserveRealtime(cand);
+        victimIndex.admit(cand, tick, realtimeLoad.containsKey(cand.getPid()));
+        stampFirstArrival(cand, tick);
+        listener.onAdmit(cand, q);
+        return true;
+    }
+
+    // Con dispositivo el bloque se reserva ya, pero el proceso queda BLOCKED hasta que termina la lectura
+    private boolean swapIn(PCB cand, MainMemory mm, VirtualMemory vm, int tick) {
+        if(!vm.queue(VirtualMemory.VirtualQueue.SUSPENDED).contains(cand) || !mm.reserve(cand)) return false;
+        if(!swap.swapIn(cand, tick, (p, at) -> {
+            pendingSwapIns--;
+            p.changeStatus(Status.READY);
+            mm.activate(p);
+            victimIndex.admit(p, at, realtimeLoad.containsKey(p.getPid()));
+            listener.onAdmit(p, VirtualMemory.VirtualQueue.SUSPENDED);
+        })) {
+            // Cola de E/S llena: sigue suspendido y reintenta en otra pasada
+            mm.deallocate(cand);
+            return false;
+        }
+        vm.remove(cand, VirtualMemory.VirtualQueue.SUSPENDED);
+        cand.changeStatus(Status.BLOCKED);
+        pendingSwapIns++;
+        swapIns++;
+        swappedInBytes += cand.getRamSize();
+        timers.cancel(agingTimers.remove(cand.getPid()));
+        return true;
+    }
+
+    // 'forWhom' es el candidato por el que se evacua: el limite de suspendidos nunca lo descarta
+    private boolean evict(PCB v, PCB forWhom, MainMemory mm, VirtualMemory vm, int tick) {
+        // Sin espacio ni cola en el dispositivo no hay swap-out, y se pregunta antes de descartar a
+        // un suspendido para hacerle lugar. Con la cola de suspendidos llena (contando las escrituras
+        // en curso) tampoco: es la contrapresion del limite
+        if(swap != null && !swap.canSwapOut(v)) return false;
+        if(!vm.makeRoomForSuspension(pendingSwapOuts, forWhom)) return false;
+        if(swap != null && !swap.swapOut(v, tick, (p, at) -> {
+            // Recien escrito el bloque queda libre y el proceso pasa a suspendidos
+            pendingSwapOuts--;
+            pendingOutBytes -= p.getRamSize();
+            mm.deallocate(p);
+            p.changeStatus(Status.SUSPENDED);
+            vm.allocate(p);
+        })) return false;
+        victimIndex.remove(v);
+        if(swap != null) {
+            // Mientras se escribe queda BLOCKED y su bloque sigue ocupado: quien espera ese hueco
+            // espera la E/S
+            pendingSwapOuts++;
+            pendingOutBytes += v.getRamSize();
+            mm.deactivate(v);
+            v.changeStatus(Status.BLOCKED);
+        } else {
+            mm.deallocate(v);
+            v.changeStatus(Status.SUSPENDED);
+            vm.allocate(v);
         }
+        evictions++;
+        swappedOutBytes += v.getRamSize();
+        agingTimers.put(v.getPid(), timers.schedule(tick + AGING_INTERVAL_TICKS, v.getPid(), v, aging));
+        listener.onSuspend(v);
+        return true;
     }
 
     private void stampFirstArrival(PCB p, int tick) {
@@ -1,54 +1,172 @@
 package com.umg.sysemu.kernel;
 
 import com.umg.sysemu.process.PCB;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.umg.sysemu.schedulers.ReadyQueue;
 
 public class MainMemory {
-    private List<PCB> readyQueue;
-    private int memorySize;
-    private int memoryUsed;
+    private IndexedReadyQueue readyQueue;
+    private final MemoryAllocator allocator;
+
+    // Compactacion opcional: unidades reubicadas por tick; 0 = deshabilitada
+    private int compactionUnitsPerTick;
+    private int pendingStallTicks;
+    private int compactions;
+    private long compactedBytes;
+    // Episodios en que la admision quedo frenada solo por fragmentacion: sobraban bytes pero no
+    // habia hueco contiguo. Se cuenta al empezar el episodio, no en cada consulta ni en cada tick
+    private int fragmentationMisses;
+    private boolean blockedThisPass;
+    private boolean blockedLastPass;
+    // Sin altas ni bajas desde la ultima compactacion: compactar otra vez no cambiaria nada
+    private boolean compacted;
+
+    // Paginacion opcional: los marcos son la memoria fisica; el asignador queda como limite de compromiso
+    private PagingConfig pagingConfig;
+    private Pager pager;
+    private RunSeed seed = new RunSeed();
+    private long pendingStallCost;
+    private long pagingStallTicks;
+
+    public MainMemory(int initialRamSize) { this(initialRamSize, FitStrategy.FIRST_FIT); }
+
+    public MainMemory(int initialRamSize, FitStrategy strategy) {
+        this(MemoryAllocator.of(strategy, initialRamSize));
+    }
 
-    public MainMemory(int initialRamSize) {
-        this.readyQueue = new ArrayList<>();
-        this.memorySize = initialRamSize;
-        this.memoryUsed = 0;
+    public MainMemory(MemoryAllocator allocator) {
+        this.readyQueue = new IndexedReadyQueue();
+        this.allocator = allocator;
     }
 
-    public int getMemorySize() { return this.memorySize; }
-    public int getMemoryUsed() { return this.memoryUsed; }
-    public int getFreeMemory() { return this.memorySize - this.memoryUsed; }
+    public int getMemorySize() { return allocator.capacity(); }
+    public int getMemoryUsed() { return allocator.usedBytes(); }
+    public int getFreeMemory() { return allocator.capacity() - allocator.usedBytes(); }
+    public int getLargestHole() { return allocator.largestHole(); }
+    public int getHoleCount() { return allocator.holeCount(); }
+
+    // 1 - hueco mayor / memoria libre: 0 si todo lo libre es contiguo
+    public double getExternalFragmentation() {
+        int free = getFreeMemory();
+        if(free <= 0) return 0;
+        return 1.0 - (double) Math.min(free, allocator.largestHole()) / free;
+    }
 
-    public List<PCB> viewReadyQueue() { return this.readyQueue; }
+    public ReadyQueue viewReadyQueue() { return this.readyQueue; }
+
+    public boolean canFit(int size) { return allocator.canFit(size); }
+    public boolean canEverFit(int size) { return size <= allocator.maxAllocatable(); }
+    public int getMaxAllocatable() { return allocator.maxAllocatable(); }
+
+    // Cabe contiguo; si solo falla por fragmentacion y hay compactacion, compacta y reintenta
+    public boolean ensureFit(int size) {
+        if(allocator.canFit(size)) return true;
+        if(getFreeMemory() < size) return false;
+        blockedThisPass = true;
+        if(!compactionCouldHelp(size)) return false;
+        compact();
+        return allocator.canFit(size);
+    }
+
+    // El planificador de mediano plazo cierra asi cada pasada de admision
+    public void endAdmissionPass() {
+        if(blockedThisPass && !blockedLastPass) fragmentationMisses++;
+        blockedLastPass = blockedThisPass;
+        blockedThisPass = false;
+    }
+
+    public boolean compactionCouldHelp(int size) {
+        return compactionUnitsPerTick > 0 && !compacted && allocator.fitsAfterCompaction(size);
+    }
 
     public boolean allocate(PCB p) {
         if(p == null) return false;
-        int size = p.getRamSize();
         if(readyQueue.contains(p)) return true;
-        if(memoryUsed + size > memorySize) return false;
+        if(!reserve(p)) return false;
 
-        if(p.getPid() < 0) p.assignPid();
-
-        memoryUsed += size;
         readyQueue.addLast(p);
         return true;
     }
 
+    // Ocupa el bloque sin entrar a la cola de listos (p. ej. mientras se lee del swap)
+    public boolean reserve(PCB p) {
+        // Solo procesos registrados en la tabla del kernel (PID valido)
+        if(p == null || p.getPid() < 0) return false;
+        if(allocator.allocate(p.getPid(), p.getRamSize()) == MemoryAllocator.NO_BLOCK) return false;
+        compacted = false;
+        return true;
+    }
+
+    // Un proceso con bloque reservado pasa a la cola de listos
+    public void activate(PCB p) {
+        if(!readyQueue.contains(p)) readyQueue.addLast(p);
+    }
+
+    // Sale de la cola de listos sin soltar su bloque (p. ej. mientras se escribe al swap)
+    public void deactivate(PCB p) { readyQueue.remove(p); }
+
     public PCB deallocate(PCB p) {
         if(p == null) return null;
-        int index = readyQueue.indexOf(p);
-        PCB removed = readyQueue.remove(index);
-        if(removed != null) {
-            int size = Math.max(0, p.getRamSize());
-            memoryUsed = Math.max(0, memoryUsed - size);
+        // El proceso en CPU puede no estar en la cola de listos, pero sigue ocupando memoria
+        readyQueue.remove(p);
+        if(allocator.free(p.getPid())) compacted = false;
+        if(pager != null) pager.release(p.getPid());
+        return p;
+    }
+
+    public int baseOf(PCB p) { return allocator.baseOf(p.getPid()); }
+
+    public void enableCompaction(int unitsPerTick) { this.compactionUnitsPerTick = Math.max(0, unitsPerTick); }
+    public boolean isCompactionEnabled() { return compactionUnitsPerTick > 0; }
+
+    public int compact() {
+        int moved = allocator.compact();
+        compactions++;
+        compacted = true;
+        compactedBytes += moved;
+        if(compactionUnitsPerTick > 0) pendingStallTicks += (moved + compactionUnitsPerTick - 1) / compactionUnitsPerTick;
+        return moved;
+    }
+
+    // Mientras se copian bloques la CPU no avanza: el kernel consume un tick de espera por llamada
+    public boolean consumeStallTick() {
+        if(pendingStallTicks <= 0) return false;
+        pendingStallTicks--;
+        return true;
+    }
+
+    public void bindSeed(RunSeed seed) {
+        this.seed = seed;
+        if(pagingConfig != null) enablePaging(pagingConfig);
+    }
+
+    public void enablePaging(PagingConfig config) {
+        this.pagingConfig = config;
+        this.pager = new Pager(config, seed.derive("paging"));
+    }
+
+    public boolean isPaging() { return pager != null; }
+    public Pager getPager() { return pager; }
+    public long getPagingStallTicks() { return pagingStallTicks; }
+
+    // Referencias de la rafaga que acaba de ejecutar p; la latencia acumulada detiene la CPU
+    public void touchPages(PCB p) {
+        if(pager == null || p == null) return;
+        pendingStallCost += pager.touch(p);
+        int ticks = (int) (pendingStallCost / PagingConfig.COST_UNITS_PER_TICK);
+        if(ticks > 0) {
+            pendingStallCost -= (long) ticks * PagingConfig.COST_UNITS_PER_TICK;
+            pendingStallTicks += ticks;
+            pagingStallTicks += ticks;
         }
-        return removed;
     }
 
+    public int getPendingStallTicks() { return pendingStallTicks; }
+    public int getCompactions() { return compactions; }
+    public long getCompactedBytes() { return compactedBytes; }
+    public int getFragmentationMisses() { return fragmentationMisses; }
+
     public boolean resizeMemory(int newSize) {
         if(newSize < 0) return false;
-        this.memorySize = newSize;
-        return true;
+        return allocator.resize(newSize);
     }
 }
@@ -0,0 +1,34 @@
+package com.umg.sysemu.kernel;
+
+// Asignador de memoria contigua por direcciones. Cada bloque pertenece a un dueño (PID).
+public interface MemoryAllocator {
+    int NO_BLOCK = -1;
+
+    // Direccion base del bloque asignado o NO_BLOCK si no hay hueco contiguo suficiente
+    int allocate(long owner, int size);
+    boolean free(long owner);
+    int baseOf(long owner);
+
+    // Debe equivaler a size <= largestHole(): la admision busca candidatos por ese limite
+    boolean canFit(int size);
+    // Tamaño maximo que podria caber alguna vez con la memoria vacia
+    int maxAllocatable();
+
+    int capacity();
+    int usedBytes();
+    int largestHole();
+    int holeCount();
+
+    // Reubica los bloques para juntar los huecos; devuelve los bytes movidos
+    int compact();
+    // Tras compact() habria un hueco contiguo de al menos size; no mueve nada
+    default boolean fitsAfterCompaction(int size) { return capacity() - usedBytes() >= size; }
+    boolean resize(int newCapacity);
+
+    static MemoryAllocator of(FitStrategy strategy, int capacity) {
+        return switch(strategy) {
+            case BUDDY -> new BuddyAllocator(capacity);
+            default -> new PartitionAllocator(strategy, capacity);
+        };
+    }
+}
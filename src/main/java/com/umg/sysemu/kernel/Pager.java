@@ -0,0 +1,284 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.collections.LongObjectMap;
+import com.umg.sysemu.process.PCB;
+
+import java.util.Arrays;
+
+// Paginacion por demanda: tabla de marcos global, una tabla de paginas por proceso y un TLB
+// etiquetado por PID. Cada rafaga ejecutada genera refsPerBurst referencias sinteticas;
+// los fallos de TLB y de pagina devuelven su latencia en milesimas de tick.
+public class Pager {
+    private static final int NONE = -1;
+    // Cada PHASE_BURSTS rafagas la ventana caliente del proceso se desplaza
+    private static final int PHASE_BURSTS = 8;
+    private static final int HOT_PER_256 = 230;
+
+    private final PagingConfig config;
+    private final long seed;
+
+    // Tabla de marcos
+    private final long[] framePid;
+    private final int[] framePage;
+    private final boolean[] referenced;
+    private final boolean[] dirty;
+    private final long[] lastUse;
+    private final int[] freeFrames;
+    private int freeCount;
+
+    // Orden de carga (FIFO, segunda oportunidad) o de uso (LRU): lista doblemente enlazada por indices
+    private final int[] prev;
+    private final int[] next;
+    private int head = NONE;
+    private int tail = NONE;
+    private int hand;
+
+    private final LongObjectMap<int[]> pageTables = new LongObjectMap<>();
+
+    // TLB totalmente asociativo con reemplazo LRU
+    private final long[] tlbTag;
+    private final long[] tlbStamp;
+
+    private long now;
+    private long references;
+    private long tlbHits;
+    private long tlbMisses;
+    private long pageFaults;
+    private long evictions;
+    private long writebacks;
+    private boolean evictedDirty;
+
+    public Pager(PagingConfig config, long seed) {
+        this.config = config;
+        this.seed = seed;
+        int n = config.frames();
+        this.framePid = new long[n];
+        this.framePage = new int[n];
+        this.referenced = new boolean[n];
+        this.dirty = new boolean[n];
+        this.lastUse = new long[n];
+        this.freeFrames = new int[n];
+        this.prev = new int[n];
+        this.next = new int[n];
+        Arrays.fill(framePid, NONE);
+        // Pila de libres: se entregan en orden 0,1,2...
+        for(int f = 0; f < n; f++) freeFrames[f] = n - 1 - f;
+        this.freeCount = n;
+        this.tlbTag = new long[config.tlbEntries()];
+        this.tlbStamp = new long[config.tlbEntries()];
+        Arrays.fill(tlbTag, NONE);
+    }
+
+    public PagingConfig getConfig() { return config; }
+
+    // Ejecuta las referencias de una rafaga del proceso; devuelve la latencia en milesimas de tick
+    public long touch(PCB p) {
+        long pid = p.getPid();
+        int pages = pagesOf(p.getRamSize());
+        int[] table = pageTables.get(pid);
+        if(table == null) {
+            table = new int[pages];
+            Arrays.fill(table, NONE);
+            pageTables.put(pid, table);
+        }
+        int burst = p.getCpuBurstsTotal() - p.getCpuBursts();
+        int window = Math.max(1, pages / 4);
+        int hotStart = (int) (((long) (burst / PHASE_BURSTS) * (window / 2 + 1)) % pages);
+
+        long cost = 0;
+        for(int k = 0; k < config.refsPerBurst(); k++) {
+            long r = mix(seed ^ mix(pid * 0x9E3779B97F4A7C15L + (long) burst * 0xC2B2AE3D27D4EB4FL + k));
+            int pick = (int) ((r >>> 8) & 0x7FFFFFFF);
+            int page = ((r & 0xFF) < HOT_PER_256) ? (hotStart + pick % window) % pages : pick % pages;
+            boolean write = ((r >>> 40) & 3) == 0;
+            cost += reference(pid, table, page, write);
+        }
+        return cost;
+    }
+
+    // El proceso sale de RAM (termina o se suspende): sus marcos y entradas del TLB se liberan
+    public void release(long pid) {
+        int[] table = pageTables.remove(pid);
+        if(table == null) return;
+        for(int f : table) {
+            if(f == NONE) continue;
+            unlink(f);
+            framePid[f] = NONE;
+            referenced[f] = false;
+            dirty[f] = false;
+            freeFrames[freeCount++] = f;
+        }
+        for(int i = 0; i < tlbTag.length; i++) if(tlbTag[i] != NONE && (tlbTag[i] >>> 24) == pid) tlbTag[i] = NONE;
+    }
+
+    private long reference(long pid, int[] table, int page, boolean write) {
+        now++;
+        references++;
+        long cost = 0;
+        long tag = (pid << 24) | page;
+        int frame;
+        if(tlbLookup(tag)) {
+            tlbHits++;
+            frame = table[page];
+        } else {
+            tlbMisses++;
+            cost += config.tlbMissCost();
+            frame = table[page];
+            if(frame == NONE) {
+                pageFaults++;
+                cost += config.pageFaultCost();
+                if(freeCount > 0) {
+                    frame = freeFrames[--freeCount];
+                } else {
+                    frame = evict();
+                    if(frame == NONE) return cost;
+                    // La victima sucia se escribe antes de reutilizar el marco
+                    if(evictedDirty) cost += config.writebackCost();
+                }
+                load(frame, pid, page);
+                table[page] = frame;
+            }
+            tlbInsert(tag);
+        }
+        referenced[frame] = true;
+        lastUse[frame] = now;
+        if(write) dirty[frame] = true;
+        if(config.policy() == ReplacementPolicy.LRU) moveToTail(frame);
+        return cost;
+    }
+
+    private int evict() {
+        int victim = switch(config.policy()) {
+            case FIFO, LRU -> head;
+            case SECOND_CHANCE -> secondChance();
+            case CLOCK -> clock();
+            case WS_CLOCK -> wsClock();
+        };
+        if(victim == NONE) return NONE;
+        evictions++;
+        long owner = framePid[victim];
+        int page = framePage[victim];
+        int[] table = pageTables.get(owner);
+        if(table != null) table[page] = NONE;
+        tlbInvalidate((owner << 24) | page);
+        evictedDirty = dirty[victim];
+        if(evictedDirty) writebacks++;
+        unlink(victim);
+        return victim;
+    }
+
+    private int secondChance() {
+        while(head != NONE) {
+            int f = head;
+            if(!referenced[f]) return f;
+            referenced[f] = false;
+            moveToTail(f);
+        }
+        return NONE;
+    }
+
+    private int clock() {
+        int n = framePid.length;
+        // Como mucho dos vueltas: la primera limpia los bits de referencia
+        for(int i = 0; i < 2 * n; i++) {
+            int f = hand;
+            hand = (hand + 1) % n;
+            if(framePid[f] == NONE) continue;
+            if(!referenced[f]) return f;
+            referenced[f] = false;
+        }
+        return NONE;
+    }
+
+    private int wsClock() {
+        int n = framePid.length;
+        int oldest = NONE;
+        for(int i = 0; i < 2 * n; i++) {
+            int f = hand;
+            hand = (hand + 1) % n;
+            if(framePid[f] == NONE) continue;
+            if(referenced[f]) {
+                referenced[f] = false;
+                lastUse[f] = now;
+                continue;
+            }
+            if(now - lastUse[f] > config.wsClockWindow()) {
+                if(!dirty[f]) return f;
+                // Fuera del conjunto de trabajo pero sucia: se agenda su escritura y se sigue buscando
+                dirty[f] = false;
+                writebacks++;
+            }
+            if(oldest == NONE || lastUse[f] < lastUse[oldest]) oldest = f;
+        }
+        return oldest;
+    }
+
+    private void load(int frame, long pid, int page) {
+        framePid[frame] = pid;
+        framePage[frame] = page;
+        referenced[frame] = false;
+        dirty[frame] = false;
+        linkLast(frame);
+    }
+
+    private boolean tlbLookup(long tag) {
+        for(int i = 0; i < tlbTag.length; i++) {
+            if(tlbTag[i] == tag) {
+                tlbStamp[i] = now;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void tlbInsert(long tag) {
+        if(tlbTag.length == 0) return;
+        int slot = 0;
+        for(int i = 0; i < tlbTag.length; i++) {
+            if(tlbTag[i] == NONE) { slot = i; break; }
+            if(tlbStamp[i] < tlbStamp[slot]) slot = i;
+        }
+        tlbTag[slot] = tag;
+        tlbStamp[slot] = now;
+    }
+
+    private void tlbInvalidate(long tag) {
+        for(int i = 0; i < tlbTag.length; i++) if(tlbTag[i] == tag) tlbTag[i] = NONE;
+    }
+
+    private void linkLast(int f) {
+        prev[f] = tail;
+        next[f] = NONE;
+        if(tail == NONE) head = f; else next[tail] = f;
+        tail = f;
+    }
+
+    private void unlink(int f) {
+        if(prev[f] == NONE) head = next[f]; else next[prev[f]] = next[f];
+        if(next[f] == NONE) tail = prev[f]; else prev[next[f]] = prev[f];
+        prev[f] = next[f] = NONE;
+    }
+
+    private void moveToTail(int f) {
+        if(tail == f) return;
+        unlink(f);
+        linkLast(f);
+    }
+
+    private int pagesOf(int ramSize) { return Math.max(1, (ramSize + config.pageSize() - 1) / config.pageSize()); }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public int getFrames() { return framePid.length; }
+    public int getFramesUsed() { return framePid.length - freeCount; }
+    public long getReferences() { return references; }
+    public long getTlbHits() { return tlbHits; }
+    public long getTlbMisses() { return tlbMisses; }
+    public long getPageFaults() { return pageFaults; }
+    public long getEvictions() { return evictions; }
+    public long getWritebacks() { return writebacks; }
+}
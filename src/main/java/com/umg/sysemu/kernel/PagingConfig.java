@@ -0,0 +1,22 @@
+package com.umg.sysemu.kernel;
+
+// Costos en milesimas de tick: un fallo de pagina de 2000 detiene la CPU 2 ticks
+public record PagingConfig(
+        int pageSize, int frames, ReplacementPolicy policy,
+        int refsPerBurst, int tlbEntries,
+        int tlbMissCost, int pageFaultCost, int writebackCost,
+        int wsClockWindow
+) {
+    public static final int COST_UNITS_PER_TICK = 1000;
+
+    public PagingConfig {
+        if(pageSize <= 0) throw new IllegalArgumentException("Page size must be positive");
+        if(frames <= 0) throw new IllegalArgumentException("Frame count must be positive");
+        if(refsPerBurst <= 0) throw new IllegalArgumentException("References per burst must be positive");
+        if(tlbEntries < 0) throw new IllegalArgumentException("TLB size must be non-negative");
+    }
+
+    public static PagingConfig of(int pageSize, int frames, ReplacementPolicy policy) {
+        return new PagingConfig(pageSize, frames, policy, 4, 16, 20, 2000, 1000, 64);
+    }
+}
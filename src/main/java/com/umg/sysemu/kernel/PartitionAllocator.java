@@ -0,0 +1,145 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.collections.LongIntMap;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Particiones variables: cada proceso ocupa un rango [base, base+size) y al liberar
+// el hueco se une con sus vecinos libres. First/best/next-fit sobre el HoleIndex.
+public class PartitionAllocator implements MemoryAllocator {
+    private final FitStrategy strategy;
+    private int capacity;
+    private int used;
+    private int nextFitCursor;
+
+    private final HoleIndex holes = new HoleIndex();
+    private final TreeMap<Integer, Long> ownerAt = new TreeMap<>();
+    private final LongIntMap baseOf = new LongIntMap();
+    private final LongIntMap sizeOf = new LongIntMap();
+
+    public PartitionAllocator(FitStrategy strategy, int capacity) {
+        if(strategy == FitStrategy.BUDDY) throw new IllegalArgumentException("Use BuddyAllocator for the buddy strategy");
+        if(capacity < 0) throw new IllegalArgumentException("Capacity must be non-negative");
+        this.strategy = strategy;
+        this.capacity = capacity;
+        if(capacity > 0) holes.add(0, capacity);
+    }
+
+    @Override
+    public int allocate(long owner, int size) {
+        if(baseOf.containsKey(owner)) return baseOf.getOrDefault(owner, NO_BLOCK);
+        if(size <= 0) {
+            // Sin bytes que ubicar: se registra sin tocar los huecos
+            baseOf.put(owner, 0);
+            sizeOf.put(owner, 0);
+            return 0;
+        }
+        int hole = switch(strategy) {
+            case BEST_FIT -> holes.bestFit(size);
+            case NEXT_FIT -> {
+                int h = holes.firstFitFrom(nextFitCursor, size);
+                yield h >= 0 ? h : holes.firstFit(size);
+            }
+            default -> holes.firstFit(size);
+        };
+        if(hole < 0) return NO_BLOCK;
+
+        int holeSize = holes.remove(hole);
+        if(holeSize > size) holes.add(hole + size, holeSize - size);
+        nextFitCursor = hole + size;
+        ownerAt.put(hole, owner);
+        baseOf.put(owner, hole);
+        sizeOf.put(owner, size);
+        used += size;
+        return hole;
+    }
+
+    @Override
+    public boolean free(long owner) {
+        int base = baseOf.getOrDefault(owner, NO_BLOCK);
+        if(base == NO_BLOCK) return false;
+        int size = sizeOf.getOrDefault(owner, 0);
+        baseOf.remove(owner);
+        sizeOf.remove(owner);
+        if(size == 0) return true;
+        ownerAt.remove(base);
+        used -= size;
+
+        // Unir con el hueco anterior y el siguiente si son adyacentes
+        int start = base;
+        int end = base + size;
+        int prev = holes.floorBase(base);
+        if(prev >= 0 && prev + holes.sizeAt(prev) == base) {
+            holes.remove(prev);
+            start = prev;
+        }
+        int nextSize = holes.sizeAt(end);
+        if(nextSize > 0) {
+            holes.remove(end);
+            end += nextSize;
+        }
+        holes.add(start, end - start);
+        return true;
+    }
+
+    @Override
+    public int baseOf(long owner) { return baseOf.getOrDefault(owner, NO_BLOCK); }
+
+    @Override
+    public boolean canFit(int size) { return size <= 0 || holes.largest() >= size; }
+
+    @Override
+    public int maxAllocatable() { return capacity; }
+
+    @Override
+    public int capacity() { return capacity; }
+
+    @Override
+    public int usedBytes() { return used; }
+
+    @Override
+    public int largestHole() { return holes.largest(); }
+
+    @Override
+    public int holeCount() { return holes.count(); }
+
+    @Override
+    public int compact() {
+        // Desliza los bloques hacia la direccion 0 en orden de direccion
+        TreeMap<Integer, Long> moved = new TreeMap<>();
+        int cursor = 0;
+        int bytesMoved = 0;
+        for(Map.Entry<Integer, Long> e : ownerAt.entrySet()) {
+            long owner = e.getValue();
+            int size = sizeOf.getOrDefault(owner, 0);
+            if(e.getKey() != cursor) bytesMoved += size;
+            moved.put(cursor, owner);
+            baseOf.put(owner, cursor);
+            cursor += size;
+        }
+        ownerAt.clear();
+        ownerAt.putAll(moved);
+        holes.clear();
+        if(cursor < capacity) holes.add(cursor, capacity - cursor);
+        nextFitCursor = cursor;
+        return bytesMoved;
+    }
+
+    @Override
+    public boolean resize(int newCapacity) {
+        if(newCapacity < 0) return false;
+        Map.Entry<Integer, Long> last = ownerAt.lastEntry();
+        int end = last == null ? 0 : last.getKey() + sizeOf.getOrDefault(last.getValue(), 0);
+        if(newCapacity < end) return false;
+
+        // El hueco final (si existe) se recorta o se extiende hasta la nueva capacidad
+        int start = holes.floorBase(capacity - 1);
+        if(start >= 0 && start + holes.sizeAt(start) == capacity) holes.remove(start);
+        else start = capacity;
+        if(newCapacity > start) holes.add(start, newCapacity - start);
+        capacity = newCapacity;
+        if(nextFitCursor > capacity) nextFitCursor = 0;
+        return true;
+    }
+}
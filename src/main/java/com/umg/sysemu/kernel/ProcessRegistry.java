@@ -0,0 +1,87 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.ProcessTable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Registro de todos los procesos que entraron al sistema. Se llena una sola vez al
+// entrar (addProcess / loadJobsAtBoot) y los cambios de estado llegan como eventos.
+// Los datos viven en la ProcessTable; el PID es la fila, asi que inOrder.get(pid) es la vista.
+public class ProcessRegistry implements LifecycleListener {
+    private ProcessTable table;
+    private final List<PCB> inOrder;
+
+    private int waiting;
+    private int resident;
+    private int suspended;
+    private int terminated;
+    private int rejected;
+
+    public ProcessRegistry() {
+        this.table = new ProcessTable();
+        this.inOrder = new ArrayList<>();
+    }
+
+    public ProcessTable table() { return table; }
+
+    public void register(PCB p) {
+        // Un PCB creado fuera de la tabla se copia a ella; los de loadAtBoot ya viven aqui
+        table.adopt(p);
+        int pid = (int) p.getPid();
+        if(pid < inOrder.size()) return;
+        if(pid != inOrder.size()) throw new IllegalStateException("Process " + pid + " registered out of order");
+        inOrder.add(p);
+        waiting++;
+    }
+
+    @Override
+    public void onAdmit(PCB p, VirtualMemory.VirtualQueue from) {
+        if(from == VirtualMemory.VirtualQueue.NEW) waiting--;
+        else suspended--;
+        resident++;
+    }
+
+    @Override
+    public void onSuspend(PCB p) {
+        resident--;
+        suspended++;
+    }
+
+    @Override
+    public void onTerminate(PCB p) {
+        resident--;
+        terminated++;
+    }
+
+    @Override
+    public void onReject(PCB p, VirtualMemory.VirtualQueue from) {
+        if(from == VirtualMemory.VirtualQueue.NEW) waiting--;
+        else suspended--;
+        rejected++;
+    }
+
+    public PCB get(long pid) { return (pid >= 0 && pid < inOrder.size()) ? inOrder.get((int) pid) : null; }
+    public Collection<PCB> all() { return Collections.unmodifiableList(inOrder); }
+    public int size() { return inOrder.size(); }
+
+    public int getWaiting() { return waiting; }
+    public int getResident() { return resident; }
+    public int getSuspended() { return suspended; }
+    public int getTerminated() { return terminated; }
+    public int getRejected() { return rejected; }
+
+    public void clear() {
+        // Tabla nueva: las vistas de la corrida anterior conservan sus datos
+        table = new ProcessTable();
+        inOrder.clear();
+        waiting = 0;
+        resident = 0;
+        suspended = 0;
+        terminated = 0;
+        rejected = 0;
+    }
+}
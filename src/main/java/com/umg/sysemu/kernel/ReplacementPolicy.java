@@ -0,0 +1,3 @@
+package com.umg.sysemu.kernel;
+
+public enum ReplacementPolicy { FIFO, LRU, CLOCK, SECOND_CHANCE, WS_CLOCK }
@@ -0,0 +1,32 @@
+package com.umg.sysemu.kernel;
+
+import java.util.Random;
+
+// Semilla maestra de una corrida: cada componente pide su propio generador por nombre,
+// derivado solo de la semilla y del nombre, asi el orden en que se piden no cambia los valores.
+public class RunSeed {
+    public static final long DEFAULT_SEED = 0x5EEDL;
+
+    private long master;
+
+    public RunSeed() { this(DEFAULT_SEED); }
+    public RunSeed(long master) { this.master = master; }
+
+    public long getMaster() { return master; }
+    public void setMaster(long master) { this.master = master; }
+
+    public Random stream(String component) {
+        return new Random(derive(component));
+    }
+
+    public long derive(String component) {
+        // String.hashCode esta fijado por la especificacion: igual en toda JVM
+        return mix(master ^ mix(component.hashCode()));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
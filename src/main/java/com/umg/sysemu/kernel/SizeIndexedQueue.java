@@ -0,0 +1,145 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.schedulers.ReadyQueue;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+// Cola FIFO de memoria virtual con indice por tamaño: "el mayor que cabe en N" es un floor
+// en el TreeMap y entre iguales sale el mas antiguo. Los que nunca caben en la RAM quedan
+// estacionados fuera del indice (siguen en el FIFO para vistas y conteos); los candidatos
+// tienen ademas su propio FIFO, asi el mas antiguo de ellos es O(1).
+public class SizeIndexedQueue implements ReadyQueue {
+    private final IndexedReadyQueue fifo;
+    private final IndexedReadyQueue candidates;
+    private final TreeMap<Integer, LinkedHashSet<PCB>> bySize;
+    private int parkAbove = Integer.MAX_VALUE;
+
+    public SizeIndexedQueue() {
+        this.fifo = new IndexedReadyQueue();
+        this.candidates = new IndexedReadyQueue();
+        this.bySize = new TreeMap<>();
+    }
+
+    // Mayor proceso (no estacionado) con tamaño <= limit; null si ninguno
+    public PCB largestAtMost(int limit) {
+        Map.Entry<Integer, LinkedHashSet<PCB>> e = bySize.floorEntry(limit);
+        return e == null ? null : e.getValue().iterator().next();
+    }
+
+    // Mas antiguo que no esta estacionado; null si ninguno
+    public PCB oldestCandidate() { return candidates.peekFirst(); }
+
+    // Los primeros 'k' no estacionados en orden de llegada
+    public void firstCandidates(int k, List<PCB> out) {
+        out.clear();
+        for(PCB p : candidates) {
+            if(out.size() >= k) return;
+            out.add(p);
+        }
+    }
+
+    public int smallestSize() { return bySize.isEmpty() ? Integer.MAX_VALUE : bySize.firstKey(); }
+    public int candidates() { return candidates.size(); }
+    public int parkedCount() { return fifo.size() - candidates.size(); }
+
+    // Los mayores que 'limit' se estacionan; solo reindexa si el limite cambia. El FIFO de
+    // candidatos se rearma en orden de llegada: un desestacionado vuelve a su lugar
+    public void setParkLimit(int limit) {
+        if(limit == parkAbove) return;
+        parkAbove = limit;
+        candidates.clear();
+        bySize.clear();
+        for(PCB p : fifo) track(p, false);
+    }
+
+    @Override
+    public int size() { return fifo.size(); }
+
+    @Override
+    public boolean isEmpty() { return fifo.isEmpty(); }
+
+    @Override
+    public boolean contains(PCB p) { return fifo.contains(p); }
+
+    @Override
+    public void addFirst(PCB p) {
+        fifo.addFirst(p);
+        track(p, true);
+    }
+
+    @Override
+    public void addLast(PCB p) {
+        fifo.addLast(p);
+        track(p, false);
+    }
+
+    @Override
+    public PCB peekFirst() { return fifo.peekFirst(); }
+
+    @Override
+    public PCB pollFirst() {
+        PCB p = fifo.pollFirst();
+        if(p != null) untrack(p);
+        return p;
+    }
+
+    @Override
+    public boolean remove(PCB p) {
+        if(!fifo.remove(p)) return false;
+        untrack(p);
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super PCB> filter) {
+        return fifo.removeIf(p -> {
+            if(!filter.test(p)) return false;
+            untrack(p);
+            return true;
+        });
+    }
+
+    @Override
+    public void clear() {
+        fifo.clear();
+        candidates.clear();
+        bySize.clear();
+    }
+
+    @Override
+    public Iterator<PCB> iterator() {
+        Iterator<PCB> it = fifo.iterator();
+        return new Iterator<>() {
+            private PCB last;
+
+            @Override
+            public boolean hasNext() { return it.hasNext(); }
+
+            @Override
+            public PCB next() { return last = it.next(); }
+
+            @Override
+            public void remove() {
+                it.remove();
+                untrack(last);
+            }
+        };
+    }
+
+    // Un estacionado solo esta en el FIFO general
+    private void track(PCB p, boolean first) {
+        if(p.getRamSize() > parkAbove) return;
+        if(first) candidates.addFirst(p);
+        else candidates.addLast(p);
+        bySize.computeIfAbsent(p.getRamSize(), k -> new LinkedHashSet<>()).add(p);
+    }
+
+    private void untrack(PCB p) {
+        if(!candidates.remove(p)) return;
+        LinkedHashSet<PCB> same = bySize.get(p.getRamSize());
+        same.remove(p);
+        if(same.isEmpty()) bySize.remove(p.getRamSize());
+    }
+}
@@ -0,0 +1,181 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.UI.DTO.SwapTierStats;
+import com.umg.sysemu.collections.LongIntMap;
+import com.umg.sysemu.process.PCB;
+
+import java.util.*;
+
+// Dispositivo de swap por niveles. Cada nivel atiende su cola de E/S en orden FIFO, una
+// transferencia a la vez, y el fin de cada una es un temporizador de la TimerWheel del kernel.
+// Los swap-out van al primer nivel con espacio y cola libres; el swap-in sale del nivel que
+// guarda al proceso. Mientras dura la transferencia el proceso no esta ni en RAM ni en VM.
+public class SwapDevice {
+    public interface Completion { void done(PCB p, int tick); }
+
+    private static final int NONE = -1;
+
+    private record Transfer(PCB pcb, boolean out, Completion done, int enqueued) {}
+
+    private final class Tier {
+        final int index;
+        final SwapTier config;
+        final ArrayDeque<Transfer> queue = new ArrayDeque<>();
+        TimerWheel.Timer service;
+        int serviceStart;
+        long used;
+
+        long transfers;
+        long bytesMoved;
+        long rejected;
+        long busyTicks;
+        long transferTicks;
+        int maxDepth;
+        long depthArea;
+        int lastChange;
+
+        Tier(int index, SwapTier config) {
+            this.index = index;
+            this.config = config;
+        }
+
+        boolean hasRoom() { return queue.size() < config.queueDepth(); }
+
+        void enqueue(Transfer t, int tick) {
+            depthChanged(tick);
+            queue.addLast(t);
+            maxDepth = Math.max(maxDepth, queue.size());
+            inFlight++;
+            if(queue.size() == 1) start(tick);
+        }
+
+        void start(int tick) {
+            serviceStart = tick;
+            int end = tick + config.transferTicks(queue.peekFirst().pcb().getRamSize());
+            if(service == null) service = timers.schedule(end, index, this, SwapDevice.this::complete);
+            else timers.reschedule(service, end);
+        }
+
+        void depthChanged(int tick) {
+            depthArea += (long) queue.size() * Math.max(0, tick - lastChange);
+            lastChange = Math.max(lastChange, tick);
+        }
+    }
+
+    private final List<Tier> tiers = new ArrayList<>();
+    private final LongIntMap storedIn = new LongIntMap();
+    private TimerWheel timers = new TimerWheel();
+    private int inFlight;
+
+    public SwapDevice(SwapTier... tiers) { this(List.of(tiers)); }
+
+    public SwapDevice(List<SwapTier> tiers) {
+        if(tiers.isEmpty()) throw new IllegalArgumentException("Swap device needs at least one tier");
+        for(SwapTier t : tiers) this.tiers.add(new Tier(this.tiers.size(), t));
+    }
+
+    void bindTimers(TimerWheel timers) { this.timers = timers; }
+
+    // True si swapOut aceptaria la escritura. Si no, el rechazo se cuenta en los niveles con espacio
+    // y la cola llena, igual que si se hubiera intentado
+    public boolean canSwapOut(PCB p) {
+        int size = p.getRamSize();
+        for(Tier t : tiers) if(t.used + size <= t.config.capacityBytes() && t.hasRoom()) return true;
+        for(Tier t : tiers) if(t.used + size <= t.config.capacityBytes()) t.rejected++;
+        return false;
+    }
+
+    // Encola la escritura en el primer nivel que la acepte; false si ninguno tiene espacio o cola
+    public boolean swapOut(PCB p, int tick, Completion done) {
+        int size = p.getRamSize();
+        for(Tier t : tiers) {
+            if(t.used + size > t.config.capacityBytes()) continue;
+            if(!t.hasRoom()) {
+                t.rejected++;
+                continue;
+            }
+            t.used += size;
+            storedIn.put(p.getPid(), t.index);
+            t.enqueue(new Transfer(p, true, done, tick), tick);
+            return true;
+        }
+        return false;
+    }
+
+    // Libera lo que guarda un proceso que ya no volvera; no aplica a los que estan en transito
+    public void discard(PCB p) {
+        int at = storedIn.getOrDefault(p.getPid(), NONE);
+        if(at == NONE) return;
+        Tier t = tiers.get(at);
+        for(Transfer tr : t.queue) if(tr.pcb() == p) return;
+        t.used -= p.getRamSize();
+        storedIn.remove(p.getPid());
+    }
+
+    public boolean holds(PCB p) { return storedIn.containsKey(p.getPid()); }
+
+    // True si p no esta en el dispositivo o si su nivel tiene lugar en la cola para leerlo
+    public boolean canSwapIn(PCB p) {
+        int at = storedIn.getOrDefault(p.getPid(), NONE);
+        return at == NONE || tiers.get(at).hasRoom();
+    }
+
+    // Encola la lectura en el nivel que guarda al proceso; false si su cola esta llena
+    public boolean swapIn(PCB p, int tick, Completion done) {
+        int at = storedIn.getOrDefault(p.getPid(), NONE);
+        if(at == NONE) throw new IllegalStateException("Process " + p.getPid() + " is not on the swap device");
+        Tier t = tiers.get(at);
+        if(!t.hasRoom()) {
+            t.rejected++;
+            return false;
+        }
+        t.enqueue(new Transfer(p, false, done, tick), tick);
+        return true;
+    }
+
+    private void complete(TimerWheel.Timer timer, int tick) {
+        Tier t = (Tier) timer.attachment();
+        // El dispositivo no se detiene con la CPU: la siguiente arranca en el plazo, no en el disparo tardio
+        int end = timer.deadline();
+        t.depthChanged(end);
+        Transfer tr = t.queue.pollFirst();
+        inFlight--;
+        int size = tr.pcb().getRamSize();
+        t.transfers++;
+        t.bytesMoved += size;
+        t.busyTicks += end - t.serviceStart;
+        t.transferTicks += end - tr.enqueued();
+        if(!tr.out()) {
+            t.used -= size;
+            storedIn.remove(tr.pcb().getPid());
+        }
+        if(!t.queue.isEmpty()) t.start(end);
+        tr.done().done(tr.pcb(), tick);
+    }
+
+    public boolean isIdle() { return inFlight == 0; }
+    public int getInFlight() { return inFlight; }
+
+    public List<PCB> viewInFlight() {
+        List<PCB> out = new ArrayList<>(inFlight);
+        for(Tier t : tiers) for(Transfer tr : t.queue) out.add(tr.pcb());
+        return out;
+    }
+
+    public List<SwapTierStats> stats(int tick) {
+        List<SwapTierStats> out = new ArrayList<>(tiers.size());
+        for(Tier t : tiers) {
+            long busy = t.busyTicks + (t.queue.isEmpty() ? 0 : Math.max(0, tick - t.serviceStart));
+            long area = t.depthArea + (long) t.queue.size() * Math.max(0, tick - t.lastChange);
+            out.add(new SwapTierStats(
+                    t.config.name(), t.config.capacityBytes(), t.used,
+                    t.transfers, t.bytesMoved, t.rejected,
+                    t.queue.size(), t.maxDepth,
+                    tick > 0 ? (double) area / tick : 0,
+                    tick > 0 ? Math.min(1.0, (double) busy / tick) : 0,
+                    t.transfers > 0 ? (double) t.transferTicks / t.transfers : 0
+            ));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,21 @@
+package com.umg.sysemu.kernel;
+
+// Un nivel del dispositivo de swap: cada transferencia cuesta latencia fija mas
+// ceil(bytes / bytesPerTick) ticks y la cola de E/S admite como mucho queueDepth (incluida la en curso)
+public record SwapTier(String name, int latencyTicks, int bytesPerTick, long capacityBytes, int queueDepth) {
+    public SwapTier {
+        if(name == null || name.isBlank()) throw new IllegalArgumentException("Swap tier needs a name");
+        if(latencyTicks < 0) throw new IllegalArgumentException("Swap latency must be non-negative");
+        if(bytesPerTick <= 0) throw new IllegalArgumentException("Swap bandwidth must be positive");
+        if(capacityBytes <= 0) throw new IllegalArgumentException("Swap capacity must be positive");
+        if(queueDepth <= 0) throw new IllegalArgumentException("Swap queue depth must be positive");
+    }
+
+    // RAM comprimida: casi sin latencia y rapida, pero chica
+    public static SwapTier compressedRam(long capacityBytes) { return new SwapTier("ZRAM", 0, 1024, capacityBytes, 8); }
+
+    // Disco: latencia de busqueda y poco ancho de banda, capacidad grande
+    public static SwapTier disk(long capacityBytes) { return new SwapTier("DISK", 4, 128, capacityBytes, 4); }
+
+    int transferTicks(int bytes) { return latencyTicks + (bytes + bytesPerTick - 1) / bytesPerTick; }
+}
@@ -0,0 +1,188 @@
+package com.umg.sysemu.kernel;
+
+// Rueda de temporizadores jerarquica: 4 niveles de 64 ranuras (granularidad 1, 64, 4096 y
+// 262144 ticks) y una lista de desborde. Programar y cancelar son O(1); avanzar cuesta por
+// temporizador vencido y por cada limite de bloque cruzado, no por tick ni por proceso.
+public class TimerWheel {
+    public interface Expiry { void expire(Timer timer, int tick); }
+
+    public static final class Timer {
+        private final TimerWheel owner;
+        private final long key;
+        private final Object attachment;
+        private final Expiry expiry;
+        private int deadline;
+        private int slot = -1;
+        private Timer prev;
+        private Timer next;
+
+        private Timer(TimerWheel owner, long key, Object attachment, Expiry expiry) {
+            this.owner = owner;
+            this.key = key;
+            this.attachment = attachment;
+            this.expiry = expiry;
+        }
+
+        public long key() { return key; }
+        public Object attachment() { return attachment; }
+        public int deadline() { return deadline; }
+        public boolean isScheduled() { return slot >= 0; }
+    }
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW = LEVELS * SLOTS;
+
+    private final Timer[] heads = new Timer[OVERFLOW + 1];
+    private final Timer[] tails = new Timer[OVERFLOW + 1];
+    private final long[] occupied = new long[LEVELS];
+    private int now;
+    private int size;
+
+    public int now() { return now; }
+    public int size() { return size; }
+
+    public Timer schedule(int deadline, long key, Object attachment, Expiry expiry) {
+        Timer t = new Timer(this, key, attachment, expiry);
+        reschedule(t, deadline);
+        return t;
+    }
+
+    // Re-arma un temporizador existente (vencido o no) para un nuevo plazo
+    public void reschedule(Timer t, int deadline) {
+        checkOwner(t);
+        if(t.isScheduled()) unlink(t);
+        t.deadline = deadline;
+        insert(t);
+    }
+
+    public void cancel(Timer t) {
+        if(t == null) return;
+        checkOwner(t);
+        if(t.isScheduled()) unlink(t);
+    }
+
+    // Las ranuras de un temporizador son de la rueda que lo creo: otra rueda no puede desenlazarlo
+    private void checkOwner(Timer t) {
+        if(t.owner != this) throw new IllegalArgumentException("Timer belongs to another wheel");
+    }
+
+    // Dispara en orden de plazo todo lo que vence hasta 'tick' inclusive; cada disparo recibe
+    // 'tick' (el tiempo real del llamador), asi un plazo vencido durante una pausa se atiende tarde
+    public void advanceTo(int tick) {
+        while(true) {
+            fireSlot(now & MASK, Math.max(tick, now));
+            if(now >= tick) return;
+            if(size == 0) {
+                now = tick;
+                return;
+            }
+            int blockEnd = (now | MASK) + 1;
+            int step = Math.min(tick, Math.min(blockEnd, nextBusyInBlock()));
+            now = step;
+            if((now & MASK) == 0) cascade();
+        }
+    }
+
+    // Cota inferior del proximo plazo (exacta en el nivel 0); Integer.MAX_VALUE si no hay nada
+    public int nextDeadline() {
+        if(size == 0) return Integer.MAX_VALUE;
+        for(int level = 0; level < LEVELS; level++) {
+            int shift = level * BITS;
+            int index = (now >>> shift) & MASK;
+            long bits = occupied[level] & atOrAfter(level == 0 ? index : index + 1);
+            if(bits != 0) {
+                int slot = Long.numberOfTrailingZeros(bits);
+                int blockBase = (now >>> (shift + BITS)) << (shift + BITS);
+                return blockBase + (slot << shift);
+            }
+        }
+        return ((now >>> (LEVELS * BITS)) + 1) << (LEVELS * BITS);
+    }
+
+    public void clear() {
+        for(int i = 0; i < heads.length; i++) {
+            for(Timer t = heads[i]; t != null; ) {
+                Timer nx = t.next;
+                t.slot = -1;
+                t.prev = t.next = null;
+                t = nx;
+            }
+            heads[i] = tails[i] = null;
+        }
+        for(int l = 0; l < LEVELS; l++) occupied[l] = 0;
+        size = 0;
+        now = 0;
+    }
+
+    private void fireSlot(int slot, int tick) {
+        // Un disparo puede programar otro que vence ya: se vacia la ranura hasta el final
+        while(heads[slot] != null) {
+            Timer t = heads[slot];
+            unlink(t);
+            t.expiry.expire(t, tick);
+        }
+    }
+
+    private int nextBusyInBlock() {
+        long bits = occupied[0] & atOrAfter((now & MASK) + 1);
+        if(bits == 0) return Integer.MAX_VALUE;
+        return (now & ~MASK) + Long.numberOfTrailingZeros(bits);
+    }
+
+    // Al entrar a un bloque nuevo se bajan de nivel los temporizadores que caen en el
+    private void cascade() {
+        int top = 1;
+        while(top < LEVELS && (now & ((1 << (top * BITS)) - 1)) == 0) top++;
+        if(top == LEVELS) redistribute(OVERFLOW);
+        for(int level = top - 1; level >= 1; level--) {
+            redistribute(level * SLOTS + ((now >>> (level * BITS)) & MASK));
+        }
+    }
+
+    private void redistribute(int slot) {
+        Timer t = heads[slot];
+        heads[slot] = tails[slot] = null;
+        if(slot < OVERFLOW) occupied[slot / SLOTS] &= ~(1L << (slot & MASK));
+        while(t != null) {
+            Timer nx = t.next;
+            t.prev = t.next = null;
+            t.slot = -1;
+            size--;
+            insert(t);
+            t = nx;
+        }
+    }
+
+    private void insert(Timer t) {
+        int d = Math.max(t.deadline, now);
+        int slot;
+        if((d >>> BITS) == (now >>> BITS)) slot = d & MASK;
+        else if((d >>> (2 * BITS)) == (now >>> (2 * BITS))) slot = SLOTS + ((d >>> BITS) & MASK);
+        else if((d >>> (3 * BITS)) == (now >>> (3 * BITS))) slot = 2 * SLOTS + ((d >>> (2 * BITS)) & MASK);
+        else if((d >>> (4 * BITS)) == (now >>> (4 * BITS))) slot = 3 * SLOTS + ((d >>> (3 * BITS)) & MASK);
+        else slot = OVERFLOW;
+
+        t.slot = slot;
+        t.prev = tails[slot];
+        t.next = null;
+        if(tails[slot] == null) heads[slot] = t; else tails[slot].next = t;
+        tails[slot] = t;
+        if(slot < OVERFLOW) occupied[slot / SLOTS] |= 1L << (slot & MASK);
+        size++;
+    }
+
+    private void unlink(Timer t) {
+        int slot = t.slot;
+        if(t.prev == null) heads[slot] = t.next; else t.prev.next = t.next;
+        if(t.next == null) tails[slot] = t.prev; else t.next.prev = t.prev;
+        if(heads[slot] == null && slot < OVERFLOW) occupied[slot / SLOTS] &= ~(1L << (slot & MASK));
+        t.prev = t.next = null;
+        t.slot = -1;
+        size--;
+    }
+
+    private static long atOrAfter(int index) { return index >= SLOTS ? 0 : -1L << index; }
+}
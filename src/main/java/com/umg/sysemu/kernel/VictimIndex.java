@@ -0,0 +1,140 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.collections.LongObjectMap;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.Status;
+
+import java.util.*;
+
+// Candidatos a swap-out ordenados por el rank de la estrategia (luego llegada a RAM y PID) y
+// mantenidos al admitir, evacuar, terminar y salir de CPU. El rank se guarda en el slot: el
+// orden del TreeSet nunca depende de datos vivos del PCB. Los recien admitidos esperan un
+// temporizador de residencia minima en la TimerWheel del kernel antes de volverse elegibles.
+final class VictimIndex {
+    private static final class Slot {
+        final PCB pcb;
+        final int since;
+        int lastRun;
+        long rank;
+        TimerWheel.Timer warming;
+
+        Slot(PCB pcb, int since) {
+            this.pcb = pcb;
+            this.since = since;
+            this.lastRun = since;
+        }
+    }
+
+    private int minResidency;
+    private final VictimStrategy strategy;
+    private final LongObjectMap<Slot> slots = new LongObjectMap<>();
+    private final TreeSet<Slot> eligible;
+    private TimerWheel timers = new TimerWheel();
+    private long eligibleBytes;
+
+    private final List<PCB> picked = new ArrayList<>();
+    private final VictimStrategy.Candidates candidates = new VictimStrategy.Candidates() {
+        @Override
+        public Iterable<PCB> ascending() { return () -> ready(eligible.iterator()); }
+
+        @Override
+        public Iterable<PCB> descending() { return () -> ready(eligible.descendingIterator()); }
+    };
+
+    VictimIndex(int minResidency, VictimStrategy strategy) {
+        this.minResidency = minResidency;
+        this.strategy = strategy;
+        this.eligible = new TreeSet<>((a, b) -> {
+            int byRank = Long.compare(a.rank, b.rank);
+            if(byRank != 0) return byRank;
+            int bySince = Integer.compare(a.since, b.since);
+            if(bySince != 0) return bySince;
+            return Long.compare(a.pcb.getPid(), b.pcb.getPid());
+        });
+    }
+
+    void bindTimers(TimerWheel timers) { this.timers = timers; }
+
+    // Solo afecta a las proximas admisiones
+    void setMinResidency(int minResidency) { this.minResidency = minResidency; }
+
+    // Procesos en RAM (elegibles o aun cumpliendo la residencia)
+    int size() { return slots.size(); }
+
+    void admit(PCB p, int tick) { admit(p, tick, false); }
+
+    // Un proceso fijado cuenta como residente pero nunca se vuelve elegible
+    void admit(PCB p, int tick, boolean pinned) {
+        Slot s = new Slot(p, tick);
+        slots.put(p.getPid(), s);
+        if(!pinned) s.warming = timers.schedule(tick + minResidency, p.getPid(), s, this::promote);
+    }
+
+    // Cumplio la residencia minima: ya puede ser victima
+    private void promote(TimerWheel.Timer t, int tick) {
+        Slot s = (Slot) t.attachment();
+        s.warming = null;
+        s.rank = strategy.rank(s.pcb, s.since, s.lastRun);
+        if(eligible.add(s)) eligibleBytes += s.pcb.getRamSize();
+    }
+
+    void remove(PCB p) {
+        Slot s = slots.remove(p.getPid());
+        if(s == null) return;
+        timers.cancel(s.warming);
+        if(eligible.remove(s)) eligibleBytes -= p.getRamSize();
+    }
+
+    // El proceso dejo la CPU en 'tick': se recoloca si su rank depende de lo que acaba de correr
+    void descheduled(long pid, int tick) {
+        Slot s = slots.get(pid);
+        if(s == null) return;
+        s.lastRun = tick;
+        if(strategy.dynamic() && eligible.remove(s)) {
+            s.rank = strategy.rank(s.pcb, s.since, s.lastRun);
+            eligible.add(s);
+        }
+    }
+
+    // Incluye al que este en CPU: cota superior de lo que se podria liberar
+    long eligibleBytes() { return eligibleBytes; }
+
+    // Conjunto elegido por la estrategia entre los READY para liberar 'needed'; vacio si no alcanza
+    List<PCB> pick(int needed) {
+        picked.clear();
+        if(eligibleBytes < needed) return picked;
+        strategy.select(candidates, needed, picked);
+        return picked;
+    }
+
+    // Primer READY en orden de victima (para cuando lo elegido no abre hueco contiguo)
+    PCB first() {
+        Iterator<PCB> it = ready(eligible.iterator());
+        return it.hasNext() ? it.next() : null;
+    }
+
+    private static Iterator<PCB> ready(Iterator<Slot> slots) {
+        return new Iterator<>() {
+            private PCB next = advance();
+
+            private PCB advance() {
+                while(slots.hasNext()) {
+                    PCB p = slots.next().pcb;
+                    if(p.getStatus() == Status.READY) return p;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() { return next != null; }
+
+            @Override
+            public PCB next() {
+                if(next == null) throw new NoSuchElementException();
+                PCB p = next;
+                next = advance();
+                return p;
+            }
+        };
+    }
+}
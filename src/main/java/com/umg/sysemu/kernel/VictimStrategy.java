@@ -0,0 +1,31 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.process.PCB;
+
+import java.util.List;
+
+// Criterio de swap-out: rank ordena a los elegibles (menor sale antes) y select arma con ese
+// orden el conjunto a evacuar. El rank se guarda al volverse elegible; si depende de algo que
+// cambia mientras el proceso corre (dynamic) se recalcula cada vez que sale de CPU.
+public interface VictimStrategy {
+    // Candidatos READY en orden de rank
+    interface Candidates {
+        Iterable<PCB> ascending();
+        Iterable<PCB> descending();
+    }
+
+    long rank(PCB p, int inRamSince, int lastRun);
+
+    default boolean dynamic() { return false; }
+
+    // Por defecto el prefijo mas corto que cubre 'needed'; vacio si no alcanza
+    default void select(Candidates candidates, long needed, List<PCB> out) {
+        long acc = 0;
+        for(PCB p : candidates.ascending()) {
+            out.add(p);
+            acc += p.getRamSize();
+            if(acc >= needed) return;
+        }
+        out.clear();
+    }
+}
@@ -1,6 +1,9 @@
 package com.umg.sysemu.kernel;
 
+import com.umg.sysemu.UI.DTO.BacklogStats;
+import com.umg.sysemu.collections.LongIntMap;
 import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.ProcessTable;
 import com.umg.sysemu.process.Status;
 import com.umg.sysemu.process.Type;
 
@@ -9,17 +12,60 @@ import java.io.FileNotFoundException;
 import java.util.*;
 
 public class VirtualMemory {
-    private final Deque<PCB> newQueue;
-    private final Deque<PCB> suspendedQueue;
+    private final SizeIndexedQueue newQueue;
+    private final SizeIndexedQueue suspendedQueue;
 
     public enum VirtualQueue {NEW,SUSPENDED}
 
+    // Que pasa cuando una cola acotada esta llena. REJECT: el que llega no entra;
+    // DROP_OLDEST_LOWEST_PRIORITY: sale el mas antiguo de menor prioridad (el que llega si es el
+    // de menor prioridad); BLOCK_SUBMITTER: el que llega espera fuera hasta que haya lugar
+    public enum OverflowPolicy { REJECT, DROP_OLDEST_LOWEST_PRIORITY, BLOCK_SUBMITTER }
+
+    public enum Offer { ACCEPTED, REJECTED, BLOCKED }
+
+    public static final int UNBOUNDED = 0;
+
+    private static final class Backlog {
+        int limit = UNBOUNDED;
+        OverflowPolicy policy = OverflowPolicy.REJECT;
+        long offered;
+        long rejected;
+        long dropped;
+        long blocked;
+        long admitted;
+        long delaySum;
+        int maxDelay;
+    }
+
+    private final Backlog[] backlogs = {new Backlog(), new Backlog()};
+    // Envios detenidos por BLOCK_SUBMITTER, en orden de llegada; siguen en estado NEW
+    private final ArrayDeque<PCB> blockedSubmitters = new ArrayDeque<>();
+    // Tick en que cada proceso entro a su cola (para NEW, el del envio aunque haya esperado bloqueado)
+    private final LongIntMap enqueuedAt = new LongIntMap();
+    private Clock clock = new Clock();
+    private LifecycleListener listener = new LifecycleListener() {};
+
     public VirtualMemory() {
-        this.newQueue = new ArrayDeque<>();
-        this.suspendedQueue = new ArrayDeque<>();
+        this.newQueue = new SizeIndexedQueue();
+        this.suspendedQueue = new SizeIndexedQueue();
     }
 
-    public void loadAtBoot(String url) {
+    public void bindClock(Clock clock) { this.clock = Objects.requireNonNull(clock); }
+    public void setLifecycleListener(LifecycleListener listener) { this.listener = Objects.requireNonNull(listener); }
+
+    // limit <= 0 deja la cola sin limite
+    public void setBacklogLimit(VirtualQueue queue, int limit, OverflowPolicy policy) {
+        Backlog b = backlogs[queue.ordinal()];
+        b.limit = Math.max(UNBOUNDED, limit);
+        b.policy = Objects.requireNonNull(policy);
+    }
+
+    public int getBacklogLimit(VirtualQueue queue) { return backlogs[queue.ordinal()].limit; }
+    public OverflowPolicy getOverflowPolicy(VirtualQueue queue) { return backlogs[queue.ordinal()].policy; }
+
+    public List<PCB> loadAtBoot(String url, ProcessTable table) {
+        List<PCB> loaded = new ArrayList<>();
         Scanner file = new Scanner(System.in);
         boolean isFirstLine = true;
         PCB pIn = null;
@@ -37,25 +83,131 @@ public class VirtualMemory {
                 int memory = Integer.parseInt(tokenizer.nextToken());
                 String type = tokenizer.nextToken();
                 String user = tokenizer.nextToken();
+                // Columnas opcionales de tiempo real: periodo y plazo relativo (0 = sin valor)
+                int period = tokenizer.hasMoreTokens() ? Integer.parseInt(tokenizer.nextToken().trim()) : 0;
+                int deadline = tokenizer.hasMoreTokens() ? Integer.parseInt(tokenizer.nextToken().trim()) : 0;
                 switch (type.toUpperCase()) {
-                    case "SYSTEM" -> pIn = new PCB(priority,cpu,memory, Type.SYSTEM,user.toUpperCase());
-                    case "USER" -> pIn = new PCB(priority,cpu,memory, Type.USER,user.toUpperCase());
-                    case "BATCH" -> pIn = new PCB(priority,cpu,memory, Type.BATCH,user.toUpperCase());
+                    case "SYSTEM" -> pIn = table.create(priority,cpu,memory, Type.SYSTEM,user.toUpperCase());
+                    case "USER" -> pIn = table.create(priority,cpu,memory, Type.USER,user.toUpperCase());
+                    case "BATCH" -> pIn = table.create(priority,cpu,memory, Type.BATCH,user.toUpperCase());
                     default -> throw new IllegalArgumentException("Invalid instruction in line " + line);
                 }
+                pIn.setTiming(period, deadline);
                 pIn.changeStatus(Status.NEW);
-                newQueue.add(pIn);
+                loaded.add(pIn);
             }
         }catch(FileNotFoundException e) {
             System.out.println(e.getMessage() + "\nThe URL specified for the File that contain the job pool has not been found");
         }finally {
             file.close();
         }
+        return loaded;
+    }
+
+    public SizeIndexedQueue viewNewQueue() { return this.newQueue; }
+    public SizeIndexedQueue viewSuspendedQueue() { return this.suspendedQueue; }
+
+    public SizeIndexedQueue queue(VirtualQueue queue) {
+        return queue == VirtualQueue.NEW ? newQueue : suspendedQueue;
     }
 
-    public Deque<PCB> viewNewQueue() { return this.newQueue; }
-    public Deque<PCB> viewSuspendedQueue() { return this.suspendedQueue; }
+    // Los procesos que no caben ni con la RAM vacia quedan fuera de la admision
+    public void setParkLimit(int maxAllocatable) {
+        newQueue.setParkLimit(maxAllocatable);
+        suspendedQueue.setParkLimit(maxAllocatable);
+    }
 
+    // Entrada de trabajo nuevo: respeta el limite de NEW y su politica de desborde
+    public Offer submit(PCB p) {
+        Backlog b = backlogs[VirtualQueue.NEW.ordinal()];
+        b.offered++;
+        if(!enqueuedAt.containsKey(p.getPid())) enqueuedAt.put(p.getPid(), clock.time());
+        // Los bloqueados llegaron antes: nadie los adelanta aunque se haya liberado lugar
+        if(!hasRoom(VirtualQueue.NEW, 0) || !blockedSubmitters.isEmpty()) {
+            switch(b.policy) {
+                case REJECT -> {
+                    b.rejected++;
+                    reject(p, VirtualQueue.NEW);
+                    return Offer.REJECTED;
+                }
+                case DROP_OLDEST_LOWEST_PRIORITY -> {
+                    PCB victim = lowestPriorityOldest(newQueue, null);
+                    if(victim == null || p.getPriority() < victim.getPriority()) {
+                        b.rejected++;
+                        reject(p, VirtualQueue.NEW);
+                        return Offer.REJECTED;
+                    }
+                    drop(victim, VirtualQueue.NEW);
+                }
+                case BLOCK_SUBMITTER -> {
+                    b.blocked++;
+                    blockedSubmitters.addLast(p);
+                    return Offer.BLOCKED;
+                }
+            }
+        }
+        newQueue.addLast(p);
+        return Offer.ACCEPTED;
+    }
+
+    // El kernel la llama despues de cada pasada de admision: los bloqueados entran en orden
+    public void drainBlocked() {
+        while(!blockedSubmitters.isEmpty() && hasRoom(VirtualQueue.NEW, 0)) newQueue.addLast(blockedSubmitters.pollFirst());
+    }
+
+    public boolean hasBlockedSubmitters() { return !blockedSubmitters.isEmpty(); }
+    public List<PCB> viewBlockedSubmitters() { return List.copyOf(blockedSubmitters); }
+
+    // Antes de suspender a alguien: true si hay lugar en SUSPENDED contando 'incoming' que ya
+    // vienen en camino. Con DROP se hace lugar descartando, nunca a 'keep' (el candidato por el que
+    // se evacua); REJECT y BLOCK frenan el swap-out
+    public boolean makeRoomForSuspension(int incoming, PCB keep) {
+        Backlog b = backlogs[VirtualQueue.SUSPENDED.ordinal()];
+        while(!hasRoom(VirtualQueue.SUSPENDED, incoming)) {
+            PCB victim = b.policy == OverflowPolicy.DROP_OLDEST_LOWEST_PRIORITY ? lowestPriorityOldest(suspendedQueue, keep) : null;
+            if(victim == null) {
+                // Lo que falta esta en camino al dispositivo: no hay a quien descartar todavia
+                if(b.policy == OverflowPolicy.REJECT) b.rejected++;
+                else b.blocked++;
+                return false;
+            }
+            drop(victim, VirtualQueue.SUSPENDED);
+        }
+        return true;
+    }
+
+    // La admision del planificador de mediano plazo lo descarta antes de que llegue a RAM
+    public void rejectQueued(PCB p, VirtualQueue from) {
+        if(!queue(from).remove(p)) return;
+        backlogs[from.ordinal()].rejected++;
+        reject(p, from);
+    }
+
+    private boolean hasRoom(VirtualQueue queue, int incoming) {
+        int limit = backlogs[queue.ordinal()].limit;
+        return limit == UNBOUNDED || queue(queue).size() + incoming < limit;
+    }
+
+    // Menor prioridad y, entre iguales, el que llego primero; 'keep' no se descarta
+    private static PCB lowestPriorityOldest(SizeIndexedQueue queue, PCB keep) {
+        PCB victim = null;
+        for(PCB p : queue) if(p != keep && (victim == null || p.getPriority() < victim.getPriority())) victim = p;
+        return victim;
+    }
+
+    private void drop(PCB p, VirtualQueue from) {
+        queue(from).remove(p);
+        backlogs[from.ordinal()].dropped++;
+        reject(p, from);
+    }
+
+    private void reject(PCB p, VirtualQueue from) {
+        enqueuedAt.remove(p.getPid());
+        p.changeStatus(Status.REJECTED);
+        listener.onReject(p, from);
+    }
+
+    // Reencola sin limite: vuelta de un swap-out o reintento de una admision fallida
     public boolean allocate(PCB p) {
         if(p == null) return false;
         if(newQueue.contains(p)) return true;
@@ -65,6 +217,8 @@ public class VirtualMemory {
                 return true;
             }
             case SUSPENDED -> {
+                backlogs[VirtualQueue.SUSPENDED.ordinal()].offered++;
+                enqueuedAt.put(p.getPid(), clock.time());
                 suspendedQueue.addLast(p);
                 return true;
             }
@@ -72,6 +226,31 @@ public class VirtualMemory {
         }
     }
 
+    // Sale de la cola para entrar a RAM (o empezar su lectura de swap); registra la espera
+    public boolean remove(PCB p, VirtualQueue from) {
+        if(!queue(from).remove(p)) return false;
+        Backlog b = backlogs[from.ordinal()];
+        int since = enqueuedAt.getOrDefault(p.getPid(), clock.time());
+        enqueuedAt.remove(p.getPid());
+        int delay = Math.max(0, clock.time() - since);
+        b.admitted++;
+        b.delaySum += delay;
+        b.maxDelay = Math.max(b.maxDelay, delay);
+        return true;
+    }
+
+    public List<BacklogStats> backlogStats() {
+        List<BacklogStats> out = new ArrayList<>(backlogs.length);
+        for(VirtualQueue q : VirtualQueue.values()) {
+            Backlog b = backlogs[q.ordinal()];
+            out.add(new BacklogStats(q.name(), queue(q).size(), b.limit, b.policy.name(),
+                    b.offered, b.rejected, b.dropped, b.blocked,
+                    q == VirtualQueue.NEW ? blockedSubmitters.size() : 0,
+                    b.admitted, b.admitted > 0 ? (double) b.delaySum / b.admitted : 0, b.maxDelay));
+        }
+        return out;
+    }
+
     public PCB deallocate(VirtualQueue queue) {
         switch (queue) {
             case NEW -> { return newQueue.pollFirst();}
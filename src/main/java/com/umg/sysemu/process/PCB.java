@@ -1,94 +1,107 @@
 package com.umg.sysemu.process;
 
+// Vista liviana sobre una fila de ProcessTable: los datos viven en las columnas de la tabla
 public class PCB implements Comparable<PCB>{
-    private long pid;
-    private Status status;
-    private int priority;
-    private int cpuBursts; //Numero de rafagas a ejecutar
-    private int ramSize;
-    private int arrivalTime; //Tiempo en que entra un proceso a cola de listos
-    private int completionTime; //Tiempo en que se finaliza las rafagas de un proceso
-    private int attentionTime; //Tiempo en que se atiende por primera vez un proceso
-
-    private int turnaroundTime;
-    private int waitingTime;
-    private int responseTime;
-    private int cpuBurstsTotal;
-    private Type processType;
-    private String userIdOwner;
+    ProcessTable table;
+    int row;
 
     public PCB(int priority, int cpuBursts, int ramSize, Type processType, String userIdOwner) {
-        this.priority = priority;
-        this.cpuBursts = cpuBursts;
-        this.ramSize = ramSize;
-        this.cpuBurstsTotal = cpuBursts;
-        this.status = Status.NEW;
-        this.processType = processType;
-        this.arrivalTime = -1;
-        this.completionTime = -1;
-        this.attentionTime = -1;
-        this.turnaroundTime = -1;
-        this.waitingTime = -1;
-        this.responseTime = -1;
-        this.userIdOwner = userIdOwner;
-        this.pid = -1;
+        this.table = ProcessTable.detached();
+        this.row = table.addRow(priority, cpuBursts, ramSize, processType, userIdOwner);
+    }
+
+    PCB(ProcessTable table, int row) {
+        this.table = table;
+        this.row = row;
     }
 
-    public void assignPid() { this.pid = System.nanoTime(); }
-    public long getPid() { return this.pid; }
-    public String getUserId() { return this.userIdOwner; }
-    public void setArrivalTimeAt(int arrivalTime) { this.arrivalTime = arrivalTime; }
-    public int getArrivalTime() { return this.arrivalTime; }
-    public void setCompletionTimeAt(int completionTime) { this.completionTime = completionTime; }
-    public int getCompletionTime() { return this.completionTime; }
-    public void setAttentionTimeAt(int attentionTime) { this.attentionTime = attentionTime; }
-    public int getAttentionTime() { return this.attentionTime; }
-    public int getCpuBursts() { return this.cpuBursts; }
-    public int getCpuBurstsTotal() { return this.cpuBurstsTotal; }
+    // El PID es la fila en la tabla del kernel; -1 mientras no haya sido registrado
+    public long getPid() { return table.isDetached() ? -1 : this.row; }
+    public String getUserId() { return table.ownerAt(row); }
+    public void setArrivalTimeAt(int arrivalTime) { table.arrivalTime[row] = arrivalTime; }
+    public int getArrivalTime() { return table.arrivalTime[row]; }
+    public void setCompletionTimeAt(int completionTime) { table.completionTime[row] = completionTime; }
+    public int getCompletionTime() { return table.completionTime[row]; }
+    public void setAttentionTimeAt(int attentionTime) { table.attentionTime[row] = attentionTime; }
+    public int getAttentionTime() { return table.attentionTime[row]; }
+    public int getCpuBursts() { return table.cpuBursts[row]; }
+    public int getCpuBurstsTotal() { return table.cpuBurstsTotal[row]; }
 
     public int calculateTurnaroundTime() {
-        this.turnaroundTime = completionTime - arrivalTime;
-        return this.turnaroundTime;
+        table.turnaroundTime[row] = table.completionTime[row] - table.arrivalTime[row];
+        return table.turnaroundTime[row];
     }
-    public int getTurnaroundTime() { return this.turnaroundTime; }
+    public int getTurnaroundTime() { return table.turnaroundTime[row]; }
     public int calculateWaitingTime() {
-        this.waitingTime = turnaroundTime - cpuBurstsTotal;
-        return this.waitingTime;
+        table.waitingTime[row] = table.turnaroundTime[row] - table.cpuBurstsTotal[row];
+        return table.waitingTime[row];
     }
-    public int getWaitingTime() { return this.waitingTime; }
+    public int getWaitingTime() { return table.waitingTime[row]; }
     public int calculateResponseTime() {
-        this.responseTime = attentionTime - arrivalTime;
-        return this.responseTime;
+        table.responseTime[row] = table.attentionTime[row] - table.arrivalTime[row];
+        return table.responseTime[row];
     }
-    public int getResponseTime() { return this.responseTime; }
+    public int getResponseTime() { return table.responseTime[row]; }
 
-    public void changeStatus(Status newStatus) { this.status = newStatus; }
-    public Status getStatus() { return this.status; }
+    public void changeStatus(Status newStatus) { table.status[row] = (byte) newStatus.ordinal(); }
+    public Status getStatus() { return table.statusAt(row); }
 
-    public int getRamSize() { return this.ramSize; }
+    public int getRamSize() { return table.ramSize[row]; }
+
+    // Periodo y plazo relativo (0 = no tiene); sin plazo explicito el plazo es el periodo
+    public void setTiming(int period, int relativeDeadline) {
+        if(period < 0 || relativeDeadline < 0) throw new IllegalArgumentException("Period and deadline must be non-negative");
+        table.period[row] = period;
+        table.relativeDeadline[row] = relativeDeadline;
+    }
+    public int getPeriod() { return table.period[row]; }
+    public int getRelativeDeadline() {
+        return table.relativeDeadline[row] > 0 ? table.relativeDeadline[row] : table.period[row];
+    }
+    public boolean isRealtime() { return getRelativeDeadline() > 0; }
+    // Plazo absoluto desde la llegada a RAM; -1 si no es de tiempo real o aun no llego
+    public int getAbsoluteDeadline() {
+        if(!isRealtime() || table.arrivalTime[row] < 0) return -1;
+        return table.arrivalTime[row] + getRelativeDeadline();
+    }
+    // Fraccion de CPU que exige: rafaga sobre el menor entre plazo y periodo (densidad)
+    public double getUtilization() {
+        if(!isRealtime()) return 0;
+        int window = table.period[row] > 0 ? Math.min(getRelativeDeadline(), table.period[row]) : getRelativeDeadline();
+        return (double) table.cpuBurstsTotal[row] / window;
+    }
 
-    public Type getProcessType() { return this.processType; }
+    public Type getProcessType() { return table.typeAt(row); }
 
     public int consumeCpuBurst() {
-        if(this.cpuBursts > 0) {
-            this.cpuBursts--;
-            return this.cpuBursts;
+        int[] bursts = table.cpuBursts;
+        if(bursts[row] > 0) {
+            bursts[row]--;
+            return bursts[row];
         }
         return -1;
     }
 
-    public int getPriority() { return this.priority; }
+    public int consumeCpuBursts(int count) {
+        int[] bursts = table.cpuBursts;
+        bursts[row] = Math.max(0, bursts[row] - count);
+        return bursts[row];
+    }
+
+    public int getPriority() { return table.priority[row]; }
 
     //Valor 99 es prioridad maxima y 1 es prioridad minima
     public int incrementPriority() {
-        if(this.priority < 99) return this.priority++;
+        int[] priority = table.priority;
+        if(priority[row] < 99) return priority[row]++;
         return 99;
     }
     public int decrementPriority() {
-        if(this.priority > 1) return this.priority--;
+        int[] priority = table.priority;
+        if(priority[row] > 1) return priority[row]--;
         return 1;
     }
 
     @Override
-    public int compareTo(PCB o) { return Integer.compare(this.priority, o.priority); }
+    public int compareTo(PCB o) { return Integer.compare(this.getPriority(), o.getPriority()); }
 }
@@ -0,0 +1,147 @@
+package com.umg.sysemu.process;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Tabla de procesos por columnas: cada atributo vive en un arreglo primitivo indexado
+// por fila y el PID es la fila (denso y secuencial). PCB es solo una vista (tabla, fila).
+public class ProcessTable {
+    private static final Status[] STATUSES = Status.values();
+    private static final Type[] TYPES = Type.values();
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final boolean detached;
+    private int size;
+
+    int[] priority;
+    int[] cpuBursts;
+    int[] cpuBurstsTotal;
+    int[] ramSize;
+    int[] arrivalTime;
+    int[] completionTime;
+    int[] attentionTime;
+    int[] turnaroundTime;
+    int[] waitingTime;
+    int[] responseTime;
+    byte[] status;
+    byte[] processType;
+    int[] owner;
+    // Tiempo real opcional: 0 = sin periodo / sin plazo
+    int[] period;
+    int[] relativeDeadline;
+
+    // Los usuarios se repiten mucho: se guardan una vez y cada fila apunta a su indice
+    private final List<String> users;
+    private final Map<String,Integer> userIndex;
+
+    public ProcessTable() { this(DEFAULT_CAPACITY); }
+
+    public ProcessTable(int initialCapacity) { this(initialCapacity, false); }
+
+    private ProcessTable(int initialCapacity, boolean detached) {
+        this.detached = detached;
+        this.users = new ArrayList<>();
+        this.userIndex = new HashMap<>();
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    // Tabla de una sola fila para un PCB creado fuera de un kernel; no tiene PID hasta ser adoptado
+    static ProcessTable detached() { return new ProcessTable(1, true); }
+
+    public PCB create(int priority, int cpuBursts, int ramSize, Type processType, String userIdOwner) {
+        int row = addRow(priority, cpuBursts, ramSize, processType, userIdOwner);
+        return new PCB(this, row);
+    }
+
+    // Copia la fila de un PCB de otra tabla a esta y lo re-apunta; desde aqui tiene PID
+    public void adopt(PCB p) {
+        if(p.table == this) return;
+        ProcessTable from = p.table;
+        int src = p.row;
+        int row = addRow(from.priority[src], from.cpuBursts[src], from.ramSize[src],
+                TYPES[from.processType[src]], from.users.get(from.owner[src]));
+        cpuBurstsTotal[row] = from.cpuBurstsTotal[src];
+        arrivalTime[row] = from.arrivalTime[src];
+        completionTime[row] = from.completionTime[src];
+        attentionTime[row] = from.attentionTime[src];
+        turnaroundTime[row] = from.turnaroundTime[src];
+        waitingTime[row] = from.waitingTime[src];
+        responseTime[row] = from.responseTime[src];
+        status[row] = from.status[src];
+        period[row] = from.period[src];
+        relativeDeadline[row] = from.relativeDeadline[src];
+        p.table = this;
+        p.row = row;
+    }
+
+    public int size() { return size; }
+    public boolean isDetached() { return detached; }
+
+    Status statusAt(int row) { return STATUSES[status[row]]; }
+    Type typeAt(int row) { return TYPES[processType[row]]; }
+    String ownerAt(int row) { return users.get(owner[row]); }
+
+    int addRow(int priority, int cpuBursts, int ramSize, Type processType, String userIdOwner) {
+        if(size == this.priority.length) grow();
+        int row = size++;
+        this.priority[row] = priority;
+        this.cpuBursts[row] = cpuBursts;
+        this.cpuBurstsTotal[row] = cpuBursts;
+        this.ramSize[row] = ramSize;
+        this.arrivalTime[row] = -1;
+        this.completionTime[row] = -1;
+        this.attentionTime[row] = -1;
+        this.turnaroundTime[row] = -1;
+        this.waitingTime[row] = -1;
+        this.responseTime[row] = -1;
+        this.status[row] = (byte) Status.NEW.ordinal();
+        this.processType[row] = (byte) processType.ordinal();
+        this.period[row] = 0;
+        this.relativeDeadline[row] = 0;
+        this.owner[row] = userIndex.computeIfAbsent(userIdOwner, u -> {
+            users.add(u);
+            return users.size() - 1;
+        });
+        return row;
+    }
+
+    private void allocate(int capacity) {
+        priority = new int[capacity];
+        cpuBursts = new int[capacity];
+        cpuBurstsTotal = new int[capacity];
+        ramSize = new int[capacity];
+        arrivalTime = new int[capacity];
+        completionTime = new int[capacity];
+        attentionTime = new int[capacity];
+        turnaroundTime = new int[capacity];
+        waitingTime = new int[capacity];
+        responseTime = new int[capacity];
+        status = new byte[capacity];
+        processType = new byte[capacity];
+        owner = new int[capacity];
+        period = new int[capacity];
+        relativeDeadline = new int[capacity];
+    }
+
+    private void grow() {
+        int capacity = priority.length + (priority.length >> 1) + 1;
+        priority = Arrays.copyOf(priority, capacity);
+        cpuBursts = Arrays.copyOf(cpuBursts, capacity);
+        cpuBurstsTotal = Arrays.copyOf(cpuBurstsTotal, capacity);
+        ramSize = Arrays.copyOf(ramSize, capacity);
+        arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+        completionTime = Arrays.copyOf(completionTime, capacity);
+        attentionTime = Arrays.copyOf(attentionTime, capacity);
+        turnaroundTime = Arrays.copyOf(turnaroundTime, capacity);
+        waitingTime = Arrays.copyOf(waitingTime, capacity);
+        responseTime = Arrays.copyOf(responseTime, capacity);
+        status = Arrays.copyOf(status, capacity);
+        processType = Arrays.copyOf(processType, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+        period = Arrays.copyOf(period, capacity);
+        relativeDeadline = Arrays.copyOf(relativeDeadline, capacity);
+    }
+}
@@ -6,7 +6,9 @@ public enum Status {
     RUNNING("RUNNING"),
     SUSPENDED("SUSPENDED"),
     BLOCKED("BLOCKED"),
-    TERMINATED("TERMINATED"),;
+    TERMINATED("TERMINATED"),
+    // Rechazado o descartado por el limite de una cola de memoria virtual; nunca corre
+    REJECTED("REJECTED"),;
 
     private final String description;
 
@@ -0,0 +1,216 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.collections.LongObjectMap;
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.LifecycleListener;
+import com.umg.sysemu.kernel.VirtualMemory;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+// Estilo CFS: los listos viven en un arbol ordenado por tiempo virtual y corre el de menor.
+// Cada tick de CPU suma al tiempo virtual en proporcion inversa al peso (la prioridad), asi que
+// los de mas prioridad avanzan mas despacio y reciben mas CPU. La rebanada reparte la latencia
+// objetivo entre los listos segun su peso, sin bajar de la granularidad minima.
+public class CompletelyFair implements IScheduler,PreemptPolicy,RunningInspector,EventHorizon,LifecycleListener {
+    public static final int DEFAULT_TARGET_LATENCY = 24;
+    public static final int DEFAULT_MIN_GRANULARITY = 3;
+
+    // Punto fijo del tiempo virtual: un tick con peso w suma VRUNTIME_SCALE / w
+    private static final long VRUNTIME_SCALE = 1L << 20;
+
+    private static final class Entity {
+        final PCB pcb;
+        int weight;
+        long delta;
+        long vruntime;
+        boolean started;
+
+        Entity(PCB pcb) {
+            this.pcb = pcb;
+            reweight();
+        }
+
+        // Solo fuera del arbol: totalWeight suma el peso de los encolados
+        void reweight() {
+            this.weight = Math.max(1, pcb.getPriority());
+            this.delta = VRUNTIME_SCALE / weight;
+        }
+    }
+
+    private final int targetLatency;
+    private final int minGranularity;
+
+    private final TreeSet<Entity> timeline;
+    private final LongObjectMap<Entity> entities = new LongObjectMap<>();
+    private long totalWeight;
+    private long minVruntime;
+
+    private Entity current;
+    private int slice;
+    private int ranInSlice;
+
+    private Clock clock;
+    private PCB lastTerminated;
+    private final List<PCB> ganttChart = new ArrayList<>();
+
+    public CompletelyFair() { this(DEFAULT_TARGET_LATENCY, DEFAULT_MIN_GRANULARITY); }
+
+    public CompletelyFair(int targetLatency, int minGranularity) {
+        if(minGranularity <= 0 || targetLatency < minGranularity)
+            throw new IllegalArgumentException("Target latency must be at least the minimum granularity, and both positive");
+        this.targetLatency = targetLatency;
+        this.minGranularity = minGranularity;
+        this.timeline = new TreeSet<>((a, b) -> {
+            int byVruntime = Long.compare(a.vruntime, b.vruntime);
+            return byVruntime != 0 ? byVruntime : Long.compare(a.pcb.getPid(), b.pcb.getPid());
+        });
+    }
+
+    @Override
+    public void onAdmit(PCB p, VirtualMemory.VirtualQueue from) {
+        Entity e = entities.get(p.getPid());
+        if(e == null) {
+            e = new Entity(p);
+            entities.put(p.getPid(), e);
+        } else if(e != current && !timeline.contains(e)) {
+            // El aging le pudo subir la prioridad mientras estaba suspendido
+            e.reweight();
+        }
+        // Un recien llegado arranca en el minimo; el que vuelve de swap conserva su deuda pero
+        // no acumula credito por el tiempo que estuvo fuera (a lo sumo media latencia)
+        long floor = from == VirtualMemory.VirtualQueue.NEW ? minVruntime : minVruntime - targetLatency * VRUNTIME_SCALE / 2;
+        e.vruntime = Math.max(e.vruntime, floor);
+        enqueue(e);
+    }
+
+    @Override
+    public void onSuspend(PCB p) {
+        Entity e = entities.get(p.getPid());
+        if(e != null && e != current) dequeue(e);
+    }
+
+    @Override
+    public void execute(ReadyQueue readyQueue) {
+        if(current == null) {
+            if(timeline.isEmpty()) return;
+            pickNext();
+        }
+
+        int remaining = current.pcb.consumeCpuBurst();
+        ranInSlice++;
+        current.vruntime += current.delta;
+        updateMinVruntime();
+
+        if(remaining == 0) {
+            PCB done = current.pcb;
+            done.changeStatus(Status.TERMINATED);
+            done.setCompletionTimeAt(clock.time() + 1);
+            totalWeight -= current.weight;
+            entities.remove(done.getPid());
+            ganttChart.add(done);
+            lastTerminated = done;
+            current = null;
+            return;
+        }
+
+        // Fin de rebanada: vuelve al arbol y en el proximo tick corre el de menor tiempo virtual
+        if(ranInSlice >= slice) putBack();
+    }
+
+    private void pickNext() {
+        current = timeline.pollFirst();
+        current.pcb.changeStatus(Status.RUNNING);
+        if(!current.started) {
+            current.started = true;
+            current.pcb.setAttentionTimeAt(clock.time());
+        }
+        ranInSlice = 0;
+        slice = sliceFor(current);
+    }
+
+    // Parte proporcional del periodo; con muchos listos el periodo se estira a n * granularidad
+    private int sliceFor(Entity e) {
+        long running = timeline.size() + 1;
+        long period = Math.max(targetLatency, running * minGranularity);
+        return (int) Math.max(minGranularity, period * e.weight / Math.max(1, totalWeight));
+    }
+
+    private void putBack() {
+        current.pcb.changeStatus(Status.READY);
+        timeline.add(current);
+        current = null;
+    }
+
+    private void enqueue(Entity e) {
+        if(timeline.add(e)) totalWeight += e.weight;
+    }
+
+    private void dequeue(Entity e) {
+        if(timeline.remove(e)) totalWeight -= e.weight;
+    }
+
+    // Monotono: los que entran despues no pueden quedar por detras del que va mas atrasado
+    private void updateMinVruntime() {
+        long min = current.vruntime;
+        if(!timeline.isEmpty()) min = Math.min(min, timeline.first().vruntime);
+        minVruntime = Math.max(minVruntime, min);
+    }
+
+    // El arbol es la cola de esta politica: se ignora la del llamador
+    @Override
+    public void preempt(ReadyQueue ownerQueue) {
+        if(current != null) putBack();
+    }
+
+    @Override
+    public boolean isCpuBusy() { return current != null; }
+
+    @Override
+    public PCB pollTerminated() {
+        PCB done = lastTerminated;
+        lastTerminated = null;
+        return done;
+    }
+
+    @Override
+    public void bindClock(Clock clock) { this.clock = clock; }
+
+    @Override
+    public int quietTicks(ReadyQueue readyQueue) {
+        if(current == null) return timeline.isEmpty() ? Integer.MAX_VALUE : 0;
+        int untilDone = current.pcb.getCpuBursts() - 1;
+        int untilSliceEnd = slice - ranInSlice - 1;
+        return Math.max(0, Math.min(untilDone, untilSliceEnd));
+    }
+
+    @Override
+    public void skipTicks(int ticks) {
+        if(current == null) return;
+        current.pcb.consumeCpuBursts(ticks);
+        ranInSlice += ticks;
+        current.vruntime += current.delta * ticks;
+        updateMinVruntime();
+    }
+
+    public int getTargetLatency() { return targetLatency; }
+    public int getMinGranularity() { return minGranularity; }
+    public int getRunnable() { return timeline.size() + (current != null ? 1 : 0); }
+
+    @Override
+    public long currentPid() { return current != null ? current.pcb.getPid() : NO_PID; }
+
+    @Override
+    public void printResults() {
+        for(PCB p : ganttChart) {
+            System.out.println("PROCESS: " + p.getPid());
+            System.out.println("COMPLETION TIME: " + p.getCompletionTime());
+            System.out.println("TURNAROUND TIME: " + p.calculateTurnaroundTime());
+            System.out.println("WAITING TIME: " + p.calculateWaitingTime());
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.collections.LongObjectMap;
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.LifecycleListener;
+import com.umg.sysemu.kernel.VirtualMemory;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+// EDF expropiativo: corre el listo con el plazo absoluto mas proximo y uno recien admitido con
+// plazo anterior expropia al que corre. Los que no tienen plazo van despues de todos los de
+// tiempo real, en orden de admision. Ordenado por (plazo, admision): elegir e insertar son O(log n).
+// La garantia de plazos depende de la prueba de utilizacion del planificador de mediano plazo.
+public class EarliestDeadlineFirst implements IScheduler,PreemptPolicy,RunningInspector,EventHorizon,LifecycleListener {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final String REALTIME_LANE = "REAL-TIME";
+    private static final String BEST_EFFORT_LANE = "BEST-EFFORT";
+
+    private static final class Entry {
+        final PCB pcb;
+        long deadline;
+        long seq;
+        boolean started;
+
+        Entry(PCB pcb) { this.pcb = pcb; }
+    }
+
+    private final TreeSet<Entry> ready = new TreeSet<>((a, b) -> {
+        int byDeadline = Long.compare(a.deadline, b.deadline);
+        return byDeadline != 0 ? byDeadline : Long.compare(a.seq, b.seq);
+    });
+    private final LongObjectMap<Entry> entries = new LongObjectMap<>();
+    private long admissions;
+
+    private Entry current;
+    private long preemptions;
+    private long missed;
+
+    private Clock clock;
+    private PCB lastTerminated;
+    private final List<PCB> ganttChart = new ArrayList<>();
+
+    @Override
+    public void onAdmit(PCB p, VirtualMemory.VirtualQueue from) {
+        Entry e = entries.get(p.getPid());
+        if(e == null) {
+            e = new Entry(p);
+            entries.put(p.getPid(), e);
+        }
+        // El plazo se fija con la primera llegada a RAM y no se mueve por pasar por swap
+        int deadline = p.getAbsoluteDeadline();
+        e.deadline = deadline < 0 ? NO_DEADLINE : deadline;
+        e.seq = admissions++;
+        ready.add(e);
+    }
+
+    @Override
+    public void onSuspend(PCB p) {
+        Entry e = entries.get(p.getPid());
+        if(e != null && e != current) ready.remove(e);
+    }
+
+    @Override
+    public void execute(ReadyQueue readyQueue) {
+        if(current != null && !ready.isEmpty() && ready.first().deadline < current.deadline) {
+            preemptions++;
+            preempt(readyQueue);
+        }
+
+        if(current == null) {
+            if(ready.isEmpty()) return;
+            current = ready.pollFirst();
+            current.pcb.changeStatus(Status.RUNNING);
+            if(!current.started) {
+                current.started = true;
+                current.pcb.setAttentionTimeAt(clock.time());
+            }
+        }
+
+        int remaining = current.pcb.consumeCpuBurst();
+        if(remaining == 0) {
+            PCB done = current.pcb;
+            done.changeStatus(Status.TERMINATED);
+            done.setCompletionTimeAt(clock.time() + 1);
+            if(current.deadline != NO_DEADLINE && clock.time() + 1 > current.deadline) missed++;
+            entries.remove(done.getPid());
+            ganttChart.add(done);
+            lastTerminated = done;
+            current = null;
+        }
+    }
+
+    // Vuelve con su mismo plazo; se ignora la cola del llamador
+    @Override
+    public void preempt(ReadyQueue ownerQueue) {
+        if(current == null) return;
+        current.pcb.changeStatus(Status.READY);
+        ready.add(current);
+        current = null;
+    }
+
+    @Override
+    public boolean isCpuBusy() { return current != null; }
+
+    @Override
+    public PCB pollTerminated() {
+        PCB done = lastTerminated;
+        lastTerminated = null;
+        return done;
+    }
+
+    @Override
+    public void bindClock(Clock clock) { this.clock = clock; }
+
+    // Solo una admision puede traer un plazo anterior: hasta entonces corre el mismo
+    @Override
+    public int quietTicks(ReadyQueue readyQueue) {
+        if(current == null) return ready.isEmpty() ? Integer.MAX_VALUE : 0;
+        return Math.max(0, current.pcb.getCpuBursts() - 1);
+    }
+
+    @Override
+    public void skipTicks(int ticks) {
+        if(current != null) current.pcb.consumeCpuBursts(ticks);
+    }
+
+    public long getPreemptions() { return preemptions; }
+    public long getMissedDeadlines() { return missed; }
+
+    @Override
+    public long currentPid() { return current != null ? current.pcb.getPid() : NO_PID; }
+
+    @Override
+    public String currentLane() {
+        if(current == null) return null;
+        return current.deadline == NO_DEADLINE ? BEST_EFFORT_LANE : REALTIME_LANE;
+    }
+
+    @Override
+    public void printResults() {
+        for(PCB p : ganttChart) {
+            System.out.println("PROCESS: " + p.getPid());
+            System.out.println("COMPLETION TIME: " + p.getCompletionTime());
+            System.out.println("TURNAROUND TIME: " + p.calculateTurnaroundTime());
+            System.out.println("WAITING TIME: " + p.calculateWaitingTime());
+            System.out.println();
+        }
+    }
+}
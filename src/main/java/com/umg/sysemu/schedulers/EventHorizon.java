@@ -0,0 +1,8 @@
+package com.umg.sysemu.schedulers;
+
+// Politicas que saben cuantos ticks siguientes solo consumen rafagas del proceso en CPU
+// (sin expiracion de quantum, terminacion ni despacho). El kernel los salta en bloque.
+public interface EventHorizon {
+    int quietTicks(ReadyQueue readyQueue);
+    void skipTicks(int ticks);
+}
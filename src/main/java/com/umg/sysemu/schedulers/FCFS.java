@@ -7,10 +7,12 @@ import com.umg.sysemu.process.Status;
 import java.util.ArrayList;
 import java.util.List;
 
-public class FCFS implements IScheduler,PreemptPolicy,RunningInspector{
+public class FCFS implements IScheduler,PreemptPolicy,RunningInspector,EventHorizon{
     private List<PCB> ganttChart;
     private PCB processInUse;
     private boolean inUseFlag;
+    private Clock clock;
+    private PCB lastTerminated;
 
 
     public FCFS() {
@@ -19,24 +21,23 @@ public class FCFS implements IScheduler,PreemptPolicy,RunningInspector{
     }
 
     @Override
-    public void execute(List<PCB> readyQueue) {
+    public void execute(ReadyQueue readyQueue) {
         if(!inUseFlag) {
             if(readyQueue.isEmpty()) return;
 
-            processInUse = readyQueue.removeFirst();
+            processInUse = readyQueue.pollFirst();
             processInUse.changeStatus(Status.RUNNING);
-            processInUse.setAttentionTimeAt(Clock.time());
+            processInUse.setAttentionTimeAt(clock.time());
 
             inUseFlag = true;
         }
 
         int remaining = processInUse.consumeCpuBurst();
         if(remaining == 0) {
-            processInUse.setCompletionTimeAt(Clock.time() + 1);
+            processInUse.setCompletionTimeAt(clock.time() + 1);
             processInUse.changeStatus(Status.TERMINATED);
             ganttChart.add(processInUse);
-
-            readyQueue.add(processInUse);
+            lastTerminated = processInUse;
 
             processInUse = null;
             inUseFlag = false;
@@ -47,16 +48,37 @@ public class FCFS implements IScheduler,PreemptPolicy,RunningInspector{
     public boolean isCpuBusy() { return inUseFlag; }
 
     @Override
-    public void preempt(List<PCB> ownerQueue) {
+    public PCB pollTerminated() {
+        PCB done = lastTerminated;
+        lastTerminated = null;
+        return done;
+    }
+
+    @Override
+    public void bindClock(Clock clock) { this.clock = clock; }
+
+    @Override
+    public void preempt(ReadyQueue ownerQueue) {
         if(!inUseFlag) return;
         processInUse.changeStatus(Status.READY);
-        ownerQueue.add(processInUse);
+        ownerQueue.addLast(processInUse);
         processInUse = null;
         inUseFlag = false;
     }
 
     @Override
-    public Long currentPid() { return inUseFlag && processInUse != null ? processInUse.getPid() : null; }
+    public int quietTicks(ReadyQueue readyQueue) {
+        if(!inUseFlag) return readyQueue.isEmpty() ? Integer.MAX_VALUE : 0;
+        return Math.max(0, processInUse.getCpuBursts() - 1);
+    }
+
+    @Override
+    public void skipTicks(int ticks) {
+        if(inUseFlag) processInUse.consumeCpuBursts(ticks);
+    }
+
+    @Override
+    public long currentPid() { return inUseFlag && processInUse != null ? processInUse.getPid() : NO_PID; }
 
     @Override
     public void printResults() {
@@ -1,18 +1,19 @@
 package com.umg.sysemu.schedulers;
 
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.LifecycleListener;
+import com.umg.sysemu.kernel.VirtualMemory;
 import com.umg.sysemu.process.PCB;
-import com.umg.sysemu.process.Status;
 
 import java.util.*;
-import java.util.function.Function;
 
-public class FairShare implements IScheduler,RunningInspector{
+// Las colas por usuario se alimentan con los eventos de admision/suspension del kernel
+public class FairShare implements IScheduler,RunningInspector,LifecycleListener{
     private static final int EPOCH_LENGTH = 60;
 
     private int rrQuantum;
 
-    private Map<String, List<PCB>> queueByUser;
-    private Map<String, Set<Long>> seenByUser;
+    private Map<String, ReadyQueue> queueByUser;
 
     private Map<String, IScheduler> userPolicy;
 
@@ -20,65 +21,51 @@ public class FairShare implements IScheduler,RunningInspector{
     private int epochRemaining;
 
     private List<String> order;
+    private Set<String> known;
     private int ptr;
+    private boolean newActiveUser;
 
-    private Set<Long> ramPids;
-
-    private Long curPid;
+    private long curPid;
     private String curUser;
 
+    private Clock clock;
+    private IScheduler lastPolicy;
+
     public FairShare(int rrQuantum) {
-        this.queueByUser = new HashMap<>();
-        this.seenByUser = new HashMap<>();
-        this.userPolicy = new HashMap<>();
-        this.budget = new HashMap<>();
+        // Orden de insercion: recorrer usuarios no depende del hash
+        this.queueByUser = new LinkedHashMap<>();
+        this.userPolicy = new LinkedHashMap<>();
+        this.budget = new LinkedHashMap<>();
         this.epochRemaining = 0;
         this.order = new ArrayList<>();
+        this.known = new HashSet<>();
         this.ptr = 0;
-        this.ramPids = new HashSet<>();
+        this.newActiveUser = false;
         this.rrQuantum = rrQuantum;
-        this.curPid = null;
+        this.curPid = NO_PID;
         this.curUser = null;
     }
 
     @Override
-    public void execute(List<PCB> readyQueue) {
-        ramPids.clear();
-        for (PCB p : readyQueue) {
-            if(p.getStatus() != Status.TERMINATED) ramPids.add(p.getPid());
-        }
-
-        boolean newActiveUser = false;
-        for(PCB p : readyQueue) {
-            if(p.getStatus() != Status.READY) continue;
-            final String uid = p.getUserId();
-
-            queueByUser.computeIfAbsent(uid, k -> new ArrayList<>());
-            seenByUser.computeIfAbsent(uid, k -> new HashSet<>());
-            userPolicy.computeIfAbsent(uid, k -> new RoundRobin(rrQuantum));
-
-            if(seenByUser.get(uid).add(p.getPid())) {
-                queueByUser.get(uid).addLast(p);
-                if(!order.contains(uid)) { order.add(uid); newActiveUser = true; }
-            }
-        }
+    public void onAdmit(PCB p, VirtualMemory.VirtualQueue from) {
+        final String uid = p.getUserId();
+        queueByUser.computeIfAbsent(uid, k -> new RingReadyQueue()).addLast(p);
+        userPolicy.computeIfAbsent(uid, k -> newUserPolicy());
+        if(known.add(uid)) { order.add(uid); newActiveUser = true; }
+    }
 
-        for(var p : queueByUser.entrySet()) {
-            String uid = p.getKey();
-            List<PCB> queue = p.getValue();
-            Set<Long> seen = seenByUser.get(uid);
-            for(Iterator<PCB> it = queue.iterator(); it.hasNext(); ) {
-                PCB pcb = it.next();
-                if(pcb.getStatus() != Status.READY || !ramPids.contains(pcb.getPid())) {
-                    it.remove();
-                    seen.remove(pcb.getPid());
-                }
-            }
-        }
+    @Override
+    public void onSuspend(PCB p) {
+        ReadyQueue queue = queueByUser.get(p.getUserId());
+        if(queue != null) queue.remove(p);
+    }
 
+    @Override
+    public void execute(ReadyQueue readyQueue) {
         if(epochRemaining <= 0 || !isBudgetAvilable() || newActiveUser) {
             resliceEquality();
         }
+        newActiveUser = false;
 
         String uid = pickNextEligibleUser();
         if(uid == null) {
@@ -96,8 +83,9 @@ public class FairShare implements IScheduler,RunningInspector{
         }
 
         IScheduler policy = userPolicy.get(uid);
-        List<PCB> queue = queueByUser.get(uid);
+        ReadyQueue queue = queueByUser.get(uid);
         policy.execute(queue);
+        lastPolicy = policy;
         updateIntrospectionForUser(uid);
 
         budget.put(uid, Math.max(0, budget.getOrDefault(uid, 0) - 1));
@@ -116,6 +104,26 @@ public class FairShare implements IScheduler,RunningInspector{
         return false;
     }
 
+    @Override
+    public PCB pollTerminated() {
+        if(lastPolicy == null) return null;
+        PCB done = lastPolicy.pollTerminated();
+        lastPolicy = null;
+        return done;
+    }
+
+    @Override
+    public void bindClock(Clock clock) {
+        this.clock = clock;
+        for(IScheduler eng : userPolicy.values()) eng.bindClock(clock);
+    }
+
+    private IScheduler newUserPolicy() {
+        RoundRobin rr = new RoundRobin(rrQuantum);
+        rr.bindClock(clock);
+        return rr;
+    }
+
     private boolean isBudgetAvilable() {
         for(String uid : order) {
             if(budget.getOrDefault(uid, 0) > 0 &&
@@ -169,21 +177,21 @@ public class FairShare implements IScheduler,RunningInspector{
     }
 
     private void updateIntrospectionIdle() {
-        curPid = null;
+        curPid = NO_PID;
         curUser = null;
     }
 
     private void updateIntrospectionForUser(String uid) {
-        curPid = null;
+        curPid = NO_PID;
         curUser = null;
         IScheduler pol = userPolicy.get(uid);
         if (pol instanceof RunningInspector ri) {
-            Long p = ri.currentPid();
-            if (p != null) { curPid = p; curUser = uid; }
+            long p = ri.currentPid();
+            if (p != NO_PID) { curPid = p; curUser = uid; }
         }
     }
 
-    @Override public Long currentPid()   { return curPid;  }
+    @Override public long currentPid()   { return curPid;  }
     @Override public String currentLane(){ return curUser; }
 
 }
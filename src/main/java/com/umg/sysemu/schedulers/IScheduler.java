@@ -1,11 +1,14 @@
 package com.umg.sysemu.schedulers;
 
+import com.umg.sysemu.kernel.Clock;
 import com.umg.sysemu.process.PCB;
-import java.util.List;
 
 
 public interface IScheduler {
-    void execute(List<PCB> readyQueue);
+    void execute(ReadyQueue readyQueue);
     void printResults();
     boolean isCpuBusy();
+    void bindClock(Clock clock);
+    // Proceso que termino en el ultimo execute (o null); se limpia al consultarlo
+    PCB pollTerminated();
 }
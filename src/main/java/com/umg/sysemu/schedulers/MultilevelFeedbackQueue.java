@@ -0,0 +1,256 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.collections.LongObjectMap;
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.LifecycleListener;
+import com.umg.sysemu.kernel.VirtualMemory;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// MLFQ: todos entran al nivel 0 y bajan un nivel al gastar su asignacion de CPU en el actual
+// (sumando todas sus rebanadas, asi ceder la CPU antes del quantum no evita la bajada). Cada
+// boostInterval ticks los listos vuelven al nivel 0. Un bitmap marca los niveles con listos:
+// el siguiente sale del primer bit encendido. Un nivel mas alto con listos expulsa al que corre.
+public class MultilevelFeedbackQueue implements IScheduler,PreemptPolicy,RunningInspector,EventHorizon,LifecycleListener {
+    public static final int DEFAULT_LEVELS = 3;
+    public static final int DEFAULT_BASE_QUANTUM = 2;
+    public static final int DEFAULT_BOOST_INTERVAL = 1000;
+
+    private static final int MAX_LEVELS = Long.SIZE;
+    // El ultimo nivel no tiene a donde bajar
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final class Entry {
+        final PCB pcb;
+        int level;
+        int allotmentUsed;
+        boolean started;
+
+        Entry(PCB pcb) { this.pcb = pcb; }
+    }
+
+    private final int[] quantum;
+    private final int[] allotment;
+    private final int boostInterval;
+    private final ReadyQueue[] levels;
+    private final String[] laneNames;
+    private long active;
+
+    private final LongObjectMap<Entry> entries = new LongObjectMap<>();
+    private Entry current;
+    private int quantumUsed;
+    private int nextBoost;
+
+    private long boosts;
+    private long demotions;
+
+    private Clock clock;
+    private PCB lastTerminated;
+    private final List<PCB> ganttChart = new ArrayList<>();
+
+    public MultilevelFeedbackQueue() { this(DEFAULT_LEVELS, DEFAULT_BASE_QUANTUM, DEFAULT_BOOST_INTERVAL); }
+
+    // Quantum que se duplica por nivel y asignacion de dos quantums
+    public MultilevelFeedbackQueue(int levels, int baseQuantum, int boostInterval) {
+        this(doubling(levels, baseQuantum, 1), doubling(levels, baseQuantum, 2), boostInterval);
+    }
+
+    public MultilevelFeedbackQueue(int[] quantum, int[] allotment, int boostInterval) {
+        if(quantum.length == 0 || quantum.length > MAX_LEVELS) throw new IllegalArgumentException("MLFQ needs between 1 and " + MAX_LEVELS + " levels");
+        if(quantum.length != allotment.length) throw new IllegalArgumentException("Each level needs a quantum and an allotment");
+        if(boostInterval <= 0) throw new IllegalArgumentException("Boost interval must be positive");
+        for(int i = 0; i < quantum.length; i++) {
+            if(quantum[i] <= 0 || allotment[i] < quantum[i])
+                throw new IllegalArgumentException("Level " + i + " needs a positive quantum and an allotment of at least one quantum");
+        }
+        this.quantum = quantum.clone();
+        this.allotment = allotment.clone();
+        this.allotment[allotment.length - 1] = UNLIMITED;
+        this.boostInterval = boostInterval;
+        this.levels = new ReadyQueue[quantum.length];
+        this.laneNames = new String[quantum.length];
+        for(int i = 0; i < quantum.length; i++) {
+            levels[i] = new RingReadyQueue();
+            laneNames[i] = "LEVEL " + i;
+        }
+        this.nextBoost = boostInterval;
+    }
+
+    private static int[] doubling(int levels, int base, int factor) {
+        if(levels <= 0 || base <= 0) throw new IllegalArgumentException("Levels and base quantum must be positive");
+        int[] out = new int[levels];
+        for(int i = 0; i < levels; i++) out[i] = (int) Math.min(UNLIMITED, ((long) base << Math.min(i, 30)) * factor);
+        return out;
+    }
+
+    @Override
+    public void onAdmit(PCB p, VirtualMemory.VirtualQueue from) {
+        // El que vuelve de swap conserva su nivel y lo gastado en el
+        Entry e = entries.get(p.getPid());
+        if(e == null) {
+            e = new Entry(p);
+            entries.put(p.getPid(), e);
+        }
+        push(e, false);
+    }
+
+    @Override
+    public void onSuspend(PCB p) {
+        Entry e = entries.get(p.getPid());
+        if(e == null || e == current) return;
+        ReadyQueue q = levels[e.level];
+        if(q.remove(p) && q.isEmpty()) active &= ~(1L << e.level);
+    }
+
+    @Override
+    public void execute(ReadyQueue readyQueue) {
+        int now = clock.time();
+        if(now >= nextBoost) {
+            boost();
+            nextBoost = (now / boostInterval + 1) * boostInterval;
+        }
+
+        // Llego alguien a un nivel mas alto: el que corre vuelve al frente del suyo
+        if(current != null && Long.numberOfTrailingZeros(active) < current.level) preempt(readyQueue);
+
+        if(current == null) {
+            if(active == 0) return;
+            pickNext();
+        }
+
+        int remaining = current.pcb.consumeCpuBurst();
+        quantumUsed++;
+        current.allotmentUsed++;
+
+        if(remaining == 0) {
+            PCB done = current.pcb;
+            done.changeStatus(Status.TERMINATED);
+            done.setCompletionTimeAt(now + 1);
+            entries.remove(done.getPid());
+            ganttChart.add(done);
+            lastTerminated = done;
+            current = null;
+            return;
+        }
+
+        if(current.allotmentUsed >= allotment[current.level]) {
+            current.level++;
+            current.allotmentUsed = 0;
+            demotions++;
+            release(false);
+        } else if(quantumUsed >= quantum[current.level]) {
+            release(false);
+        }
+    }
+
+    private void pickNext() {
+        int level = Long.numberOfTrailingZeros(active);
+        ReadyQueue q = levels[level];
+        PCB p = q.pollFirst();
+        if(q.isEmpty()) active &= ~(1L << level);
+        current = entries.get(p.getPid());
+        p.changeStatus(Status.RUNNING);
+        if(!current.started) {
+            current.started = true;
+            p.setAttentionTimeAt(clock.time());
+        }
+        quantumUsed = 0;
+    }
+
+    // Todos los listos (y el que corre) vuelven al nivel 0 con la asignacion completa
+    private void boost() {
+        if(active == 0 && current == null) return;
+        boosts++;
+        for(PCB p : levels[0]) entries.get(p.getPid()).allotmentUsed = 0;
+        for(int level = 1; level < levels.length; level++) {
+            PCB p;
+            while((p = levels[level].pollFirst()) != null) {
+                Entry e = entries.get(p.getPid());
+                e.level = 0;
+                e.allotmentUsed = 0;
+                levels[0].addLast(p);
+            }
+        }
+        active = levels[0].isEmpty() ? 0 : 1L;
+        if(current != null) {
+            current.level = 0;
+            current.allotmentUsed = 0;
+        }
+    }
+
+    private void push(Entry e, boolean front) {
+        if(front) levels[e.level].addFirst(e.pcb);
+        else levels[e.level].addLast(e.pcb);
+        active |= 1L << e.level;
+    }
+
+    private void release(boolean front) {
+        current.pcb.changeStatus(Status.READY);
+        push(current, front);
+        current = null;
+    }
+
+    // Los niveles son la cola de esta politica: se ignora la del llamador
+    @Override
+    public void preempt(ReadyQueue ownerQueue) {
+        if(current != null) release(true);
+    }
+
+    @Override
+    public boolean isCpuBusy() { return current != null; }
+
+    @Override
+    public PCB pollTerminated() {
+        PCB done = lastTerminated;
+        lastTerminated = null;
+        return done;
+    }
+
+    @Override
+    public void bindClock(Clock clock) { this.clock = clock; }
+
+    @Override
+    public int quietTicks(ReadyQueue readyQueue) {
+        // El boost corre al inicio de su tick: no se puede saltar por encima. Ocioso tampoco: un
+        // swap-in que termina durante el salto encontraria el boost atrasado y lo aplicaria tarde
+        int untilBoost = Math.max(0, nextBoost - clock.time());
+        if(current == null) return active == 0 ? untilBoost : 0;
+        int untilDone = current.pcb.getCpuBursts() - 1;
+        int untilQuantum = quantum[current.level] - quantumUsed - 1;
+        int untilDemotion = allotment[current.level] == UNLIMITED ? UNLIMITED : allotment[current.level] - current.allotmentUsed - 1;
+        return Math.max(0, Math.min(Math.min(untilDone, untilQuantum), Math.min(untilDemotion, untilBoost)));
+    }
+
+    @Override
+    public void skipTicks(int ticks) {
+        if(current == null) return;
+        current.pcb.consumeCpuBursts(ticks);
+        quantumUsed += ticks;
+        current.allotmentUsed += ticks;
+    }
+
+    public int getLevels() { return levels.length; }
+    public int getBoostInterval() { return boostInterval; }
+    public long getBoosts() { return boosts; }
+    public long getDemotions() { return demotions; }
+
+    @Override
+    public long currentPid() { return current != null ? current.pcb.getPid() : NO_PID; }
+
+    @Override
+    public String currentLane() { return current != null ? laneNames[current.level] : null; }
+
+    @Override
+    public void printResults() {
+        for(PCB p : ganttChart) {
+            System.out.println("PROCESS: " + p.getPid());
+            System.out.println("COMPLETION TIME: " + p.getCompletionTime());
+            System.out.println("TURNAROUND TIME: " + p.calculateTurnaroundTime());
+            System.out.println("WAITING TIME: " + p.calculateWaitingTime());
+            System.out.println();
+        }
+    }
+}
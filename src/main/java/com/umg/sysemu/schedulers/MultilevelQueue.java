@@ -1,19 +1,16 @@
 package com.umg.sysemu.schedulers;
 
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.LifecycleListener;
+import com.umg.sysemu.kernel.VirtualMemory;
 import com.umg.sysemu.process.PCB;
-import com.umg.sysemu.process.Status;
 
-import java.util.*;
-
-public class MultilevelQueue implements IScheduler,RunningInspector{
-    private List<PCB> sysQueue;
-    private List<PCB> userQueue;
-    private List<PCB> batchQueue;
-
-    private Set<Long> sysSet;
-    private Set<Long> userSet;
-    private Set<Long> batchSet;
-    private Set<Long> ramPids;
+// Los carriles se mantienen con los eventos de admision/suspension del kernel,
+// sin reclasificar la RAM en cada tick.
+public class MultilevelQueue implements IScheduler,RunningInspector,EventHorizon,LifecycleListener{
+    private ReadyQueue sysQueue;
+    private ReadyQueue userQueue;
+    private ReadyQueue batchQueue;
 
     private boolean inUseFlagSys;
     private boolean inUseFlagUser;
@@ -22,22 +19,19 @@ public class MultilevelQueue implements IScheduler,RunningInspector{
     private int sysQuantum;
     private int userQuantum;
 
-    private Long curPid;
+    private long curPid;
     private String curLane;
 
     private RoundRobin rrSystem;
     private RoundRobin rrUser;
     private FCFS fcsBatch;
 
-    public MultilevelQueue(int sysQuantum, int userQuantum) {
-        this.sysQueue = new ArrayList<>();
-        this.userQueue = new ArrayList<>();
-        this.batchQueue = new ArrayList<>();
+    private PCB lastTerminated;
 
-        this.sysSet = new HashSet<>();
-        this.userSet = new HashSet<>();
-        this.batchSet = new HashSet<>();
-        this.ramPids = new HashSet<>();
+    public MultilevelQueue(int sysQuantum, int userQuantum) {
+        this.sysQueue = new RingReadyQueue();
+        this.userQueue = new RingReadyQueue();
+        this.batchQueue = new RingReadyQueue();
 
         this.inUseFlagSys = false;
         this.inUseFlagUser = false;
@@ -46,7 +40,7 @@ public class MultilevelQueue implements IScheduler,RunningInspector{
         this.sysQuantum = sysQuantum;
         this.userQuantum = userQuantum;
 
-        this.curPid = null;
+        this.curPid = NO_PID;
         this.curLane = null;
 
         this.rrSystem = new RoundRobin(this.sysQuantum);
@@ -55,32 +49,17 @@ public class MultilevelQueue implements IScheduler,RunningInspector{
     }
 
     @Override
-    public void execute(List<PCB> readyQueue) {
-
-        ramPids.clear();
-        for(PCB p : readyQueue) {
-            if(p.getStatus() != Status.TERMINATED) ramPids.add(p.getPid());
-        }
-
-        for(PCB p : readyQueue) {
-            if(p.getStatus() != Status.READY) continue;
-            switch (p.getProcessType()) {
-                case SYSTEM -> {
-                    if(sysSet.add(p.getPid())) sysQueue.addLast(p);
-                }
-                case USER -> {
-                    if(userSet.add(p.getPid())) userQueue.addLast(p);
-                }
-                case BATCH -> {
-                    if(batchSet.add(p.getPid())) batchQueue.addLast(p);
-                }
-            }
-        }
+    public void onAdmit(PCB p, VirtualMemory.VirtualQueue from) {
+        laneOf(p).addLast(p);
+    }
 
-        clean(sysQueue,sysSet);
-        clean(userQueue,userSet);
-        clean(batchQueue,batchSet);
+    @Override
+    public void onSuspend(PCB p) {
+        laneOf(p).remove(p);
+    }
 
+    @Override
+    public void execute(ReadyQueue readyQueue) {
         if(isAllQueuesEmpty() && !isCpuBusy()) {
             updateInspector();
             return;
@@ -96,8 +75,10 @@ public class MultilevelQueue implements IScheduler,RunningInspector{
 
         rrSystem.execute(sysQueue);
         inUseFlagSys = rrSystem.isCpuBusy();
+        lastTerminated = rrSystem.pollTerminated();
         updateInspector();
-        if(!sysQueue.isEmpty() || inUseFlagSys) return;
+        // Si el carril uso la CPU en este tick (aunque haya terminado) no baja al siguiente
+        if(!sysQueue.isEmpty() || inUseFlagSys || lastTerminated != null) return;
 
         if(fcsBatch.isCpuBusy() && !userQueue.isEmpty()) {
             fcsBatch.preempt(batchQueue);
@@ -105,32 +86,64 @@ public class MultilevelQueue implements IScheduler,RunningInspector{
 
         rrUser.execute(userQueue);
         inUseFlagUser = rrUser.isCpuBusy();
+        lastTerminated = rrUser.pollTerminated();
         updateInspector();
-        if(!userQueue.isEmpty() || inUseFlagUser) return;
+        if(!userQueue.isEmpty() || inUseFlagUser || lastTerminated != null) return;
 
         fcsBatch.execute(batchQueue);
         inUseFlagBatch = fcsBatch.isCpuBusy();
+        lastTerminated = fcsBatch.pollTerminated();
         updateInspector();
     }
 
     @Override
     public boolean isCpuBusy() { return inUseFlagSys || inUseFlagUser || inUseFlagBatch; }
 
+    @Override
+    public PCB pollTerminated() {
+        PCB done = lastTerminated;
+        lastTerminated = null;
+        return done;
+    }
+
+    @Override
+    public void bindClock(Clock clock) {
+        rrSystem.bindClock(clock);
+        rrUser.bindClock(clock);
+        fcsBatch.bindClock(clock);
+    }
+
     private boolean isAllQueuesEmpty() { return sysQueue.isEmpty() && userQueue.isEmpty() && batchQueue.isEmpty(); }
 
-    private void clean(List<PCB> queue, Set<Long> set) {
-        for(Iterator<PCB> it = queue.iterator(); it.hasNext(); ) {
-            PCB p = it.next();
-            long pid = p.getPid();
-            if(p.getStatus() != Status.READY || !ramPids.contains(pid)) {
-                it.remove();
-                set.remove(pid);
-            }
-        }
+    private ReadyQueue laneOf(PCB p) {
+        return switch (p.getProcessType()) {
+            case SYSTEM -> sysQueue;
+            case USER -> userQueue;
+            case BATCH -> batchQueue;
+        };
+    }
+
+    @Override
+    public int quietTicks(ReadyQueue readyQueue) {
+        boolean sys = rrSystem.isCpuBusy();
+        boolean user = rrUser.isCpuBusy();
+        boolean batch = fcsBatch.isCpuBusy();
+        if(sys && !user && !batch) return rrSystem.quietTicks(sysQueue);
+        if(user && !sys && !batch && sysQueue.isEmpty()) return rrUser.quietTicks(userQueue);
+        if(batch && !sys && !user && sysQueue.isEmpty() && userQueue.isEmpty()) return fcsBatch.quietTicks(batchQueue);
+        if(!sys && !user && !batch && isAllQueuesEmpty()) return Integer.MAX_VALUE;
+        return 0;
+    }
+
+    @Override
+    public void skipTicks(int ticks) {
+        if(rrSystem.isCpuBusy()) rrSystem.skipTicks(ticks);
+        else if(rrUser.isCpuBusy()) rrUser.skipTicks(ticks);
+        else if(fcsBatch.isCpuBusy()) fcsBatch.skipTicks(ticks);
     }
 
     @Override
-    public Long currentPid() { return curPid; }
+    public long currentPid() { return curPid; }
     @Override
     public String currentLane() { return curLane; }
 
@@ -145,20 +158,20 @@ public class MultilevelQueue implements IScheduler,RunningInspector{
     }
 
     private void updateInspector() {
-        curPid = null;
+        curPid = NO_PID;
         curLane = null;
 
         if (rrSystem instanceof RunningInspector riS) {
-            Long p = riS.currentPid();
-            if (p != null) { curPid = p; curLane = "SYSTEM"; return; }
+            long p = riS.currentPid();
+            if (p != NO_PID) { curPid = p; curLane = "SYSTEM"; return; }
         }
         if (rrUser instanceof RunningInspector riU) {
-            Long p = riU.currentPid();
-            if (p != null) { curPid = p; curLane = "USER"; return; }
+            long p = riU.currentPid();
+            if (p != NO_PID) { curPid = p; curLane = "USER"; return; }
         }
         if (fcsBatch instanceof RunningInspector riB) {
-            Long p = riB.currentPid();
-            if (p != null) { curPid = p; curLane = "BATCH"; }
+            long p = riB.currentPid();
+            if (p != NO_PID) { curPid = p; curLane = "BATCH"; }
         }
     }
 
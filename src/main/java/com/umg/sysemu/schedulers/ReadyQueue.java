@@ -0,0 +1,24 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.process.PCB;
+
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Cola de listos que reciben las politicas: operaciones O(1) en ambos extremos
+// y recorrido sin copiar. Las comparaciones de pertenencia son por identidad.
+public interface ReadyQueue extends Iterable<PCB> {
+    void addFirst(PCB p);
+    void addLast(PCB p);
+    PCB pollFirst();
+    PCB peekFirst();
+    int size();
+    boolean isEmpty();
+    boolean contains(PCB p);
+    boolean remove(PCB p);
+    boolean removeIf(Predicate<? super PCB> filter);
+    void clear();
+
+    default Stream<PCB> stream() { return StreamSupport.stream(spliterator(), false); }
+}
@@ -0,0 +1,124 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.process.PCB;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+// ReadyQueue sobre un buffer circular que crece al doble; rotar el quantum
+// (pollFirst + addLast) no desplaza elementos.
+public class RingReadyQueue implements ReadyQueue {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private PCB[] elements;
+    private int head;
+    private int size;
+    private int modCount;
+
+    public RingReadyQueue() {
+        this.elements = new PCB[INITIAL_CAPACITY];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public void addFirst(PCB p) {
+        Objects.requireNonNull(p);
+        ensureCapacity();
+        head = dec(head);
+        elements[head] = p;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void addLast(PCB p) {
+        Objects.requireNonNull(p);
+        ensureCapacity();
+        elements[slot(size)] = p;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public PCB pollFirst() {
+        if(size == 0) return null;
+        PCB p = elements[head];
+        elements[head] = null;
+        head = inc(head);
+        size--;
+        modCount++;
+        return p;
+    }
+
+    @Override
+    public PCB peekFirst() { return size == 0 ? null : elements[head]; }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public boolean contains(PCB p) {
+        for(int i = 0; i < size; i++) if(elements[slot(i)] == p) return true;
+        return false;
+    }
+
+    @Override
+    public boolean remove(PCB p) { return removeIf(x -> x == p); }
+
+    @Override
+    public boolean removeIf(Predicate<? super PCB> filter) {
+        // Compacta en sitio conservando el orden FIFO
+        int kept = 0;
+        for(int i = 0; i < size; i++) {
+            PCB p = elements[slot(i)];
+            if(!filter.test(p)) elements[slot(kept++)] = p;
+        }
+        if(kept == size) return false;
+        for(int i = kept; i < size; i++) elements[slot(i)] = null;
+        size = kept;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for(int i = 0; i < size; i++) elements[slot(i)] = null;
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<PCB> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() { return next < size; }
+
+            @Override
+            public PCB next() {
+                if(modCount != expectedModCount) throw new ConcurrentModificationException();
+                if(next >= size) throw new NoSuchElementException();
+                return elements[slot(next++)];
+            }
+        };
+    }
+
+    private void ensureCapacity() {
+        if(size < elements.length) return;
+        PCB[] grown = new PCB[elements.length << 1];
+        for(int i = 0; i < size; i++) grown[i] = elements[slot(i)];
+        elements = grown;
+        head = 0;
+    }
+
+    private int slot(int offset) { return (head + offset) & (elements.length - 1); }
+    private int inc(int i) { return (i + 1) & (elements.length - 1); }
+    private int dec(int i) { return (i - 1) & (elements.length - 1); }
+}
@@ -1,63 +1,67 @@
 package com.umg.sysemu.schedulers;
 
+import com.umg.sysemu.collections.LongIntMap;
 import com.umg.sysemu.kernel.Clock;
 import com.umg.sysemu.process.PCB;
 import com.umg.sysemu.process.Status;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-public class RoundRobin implements IScheduler,PreemptPolicy, RunningInspector{
+public class RoundRobin implements IScheduler,PreemptPolicy, RunningInspector, EventHorizon{
     private List<PCB> ganttChart;
-    private Map<Long,Integer> quantumTracker;
+    private LongIntMap quantumTracker;
     private PCB processInUse;
-    private Long pidInUse;
+    private long pidInUse;
+    private int usedInUse; // quantum consumido por el proceso en CPU, se vuelca al tracker al soltarlo
     private boolean inUseFlag;
     private int quantum;
+    private Clock clock;
+    private PCB lastTerminated;
 
     public RoundRobin(int quantum) {
         this.quantum = quantum;
         this.processInUse = null;
-        this.pidInUse = null;
+        this.pidInUse = NO_PID;
         this.ganttChart = new ArrayList<>();
-        this.quantumTracker = new HashMap<Long,Integer>();
+        this.quantumTracker = new LongIntMap();
         this.inUseFlag = false;
     }
 
     @Override
-    public void execute(List<PCB> readyQueue) {
+    public void execute(ReadyQueue readyQueue) {
         if(!inUseFlag) {
             if(readyQueue.isEmpty()) return;
 
             //NEW PROCESS INBOUND
-            processInUse = readyQueue.removeFirst();
+            processInUse = readyQueue.pollFirst();
 
             pidInUse = processInUse.getPid();
             processInUse.changeStatus(Status.RUNNING);
 
-            if(!quantumTracker.containsKey(pidInUse)) {
+            int tracked = quantumTracker.getOrDefault(pidInUse, -1);
+            if(tracked < 0) {
                 quantumTracker.put(pidInUse,0);
-                processInUse.setAttentionTimeAt(Clock.time());
+                processInUse.setAttentionTimeAt(clock.time());
+                usedInUse = 0;
+            } else {
+                usedInUse = tracked;
             }
 
             inUseFlag = true;
         }
         int remaining = processInUse.consumeCpuBurst();
-        int used = quantumTracker.get(pidInUse) + 1;
-        quantumTracker.put(pidInUse,used);
+        int used = ++usedInUse;
 
         if(remaining == 0) {
             processInUse.changeStatus(Status.TERMINATED);
-            processInUse.setCompletionTimeAt(Clock.time() + 1);
+            processInUse.setCompletionTimeAt(clock.time() + 1);
             quantumTracker.remove(pidInUse);
             ganttChart.add(processInUse);
-
-            readyQueue.addFirst(processInUse);
+            lastTerminated = processInUse;
 
             processInUse = null;
-            pidInUse = null;
+            pidInUse = NO_PID;
             inUseFlag = false;
             return;
         }
@@ -68,7 +72,7 @@ public class RoundRobin implements IScheduler,PreemptPolicy, RunningInspector{
             readyQueue.addLast(processInUse);
 
             processInUse = null;
-            pidInUse = null;
+            pidInUse = NO_PID;
             inUseFlag = false;
         }
     }
@@ -77,17 +81,43 @@ public class RoundRobin implements IScheduler,PreemptPolicy, RunningInspector{
     public boolean isCpuBusy() { return inUseFlag; }
 
     @Override
-    public void preempt(List<PCB> ownerQueue) {
+    public PCB pollTerminated() {
+        PCB done = lastTerminated;
+        lastTerminated = null;
+        return done;
+    }
+
+    @Override
+    public void bindClock(Clock clock) { this.clock = clock; }
+
+    @Override
+    public void preempt(ReadyQueue ownerQueue) {
         if(!inUseFlag) return;
         processInUse.changeStatus(Status.READY);
+        quantumTracker.put(pidInUse,usedInUse);
         ownerQueue.addFirst(processInUse);
         processInUse = null;
-        pidInUse = null;
+        pidInUse = NO_PID;
         inUseFlag = false;
     }
 
     @Override
-    public Long currentPid() { return inUseFlag && processInUse != null ? processInUse.getPid() : null; }
+    public int quietTicks(ReadyQueue readyQueue) {
+        if(!inUseFlag) return readyQueue.isEmpty() ? Integer.MAX_VALUE : 0;
+        int untilDone = processInUse.getCpuBursts() - 1;
+        int untilQuantum = quantum - usedInUse - 1;
+        return Math.max(0, Math.min(untilDone, untilQuantum));
+    }
+
+    @Override
+    public void skipTicks(int ticks) {
+        if(!inUseFlag) return;
+        processInUse.consumeCpuBursts(ticks);
+        usedInUse += ticks;
+    }
+
+    @Override
+    public long currentPid() { return inUseFlag && processInUse != null ? processInUse.getPid() : NO_PID; }
 
     public void printResults() {
         for(PCB p : ganttChart) {
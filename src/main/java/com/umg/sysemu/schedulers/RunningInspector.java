@@ -1,7 +1,9 @@
 package com.umg.sysemu.schedulers;
 
 public interface RunningInspector {
-    Long currentPid();
+    long NO_PID = -1L;
+
+    long currentPid();
     default String currentLane() {
         return null;
     }
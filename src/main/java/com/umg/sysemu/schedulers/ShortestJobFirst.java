@@ -0,0 +1,204 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.collections.LongObjectMap;
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.LifecycleListener;
+import com.umg.sysemu.kernel.VirtualMemory;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.Status;
+
+import java.util.*;
+
+// SJF no expropiativo: corre el listo con la rafaga mas corta hasta terminar. Los listos viven en
+// un conjunto ordenado por (rafaga estimada, PID): elegir, insertar y quitar son O(log n).
+// ORACLE usa la rafaga restante real. PREDICTED estima con promedio exponencial
+// tau' = alpha * t + (1 - alpha) * tau sobre las rafagas observadas del proceso; uno nuevo parte
+// de lo aprendido con los procesos ya terminados de su usuario, o de tau0 si no hay ninguno.
+public class ShortestJobFirst implements IScheduler,PreemptPolicy,RunningInspector,EventHorizon,LifecycleListener {
+    public enum Estimate { ORACLE, PREDICTED }
+
+    public static final double DEFAULT_ALPHA = 0.5;
+    public static final int DEFAULT_TAU0 = 10;
+
+    private static final class Entry {
+        final PCB pcb;
+        double tau;
+        // Clave con la que esta en el conjunto; no cambia mientras esta adentro
+        double key;
+        // Lo que corrio de la rafaga en curso; una expropiacion no la cierra
+        int ran;
+        boolean started;
+
+        Entry(PCB pcb, double tau) {
+            this.pcb = pcb;
+            this.tau = tau;
+        }
+    }
+
+    private final boolean preemptive;
+    private final Estimate estimate;
+    private final double alpha;
+    private final double tau0;
+
+    private final TreeSet<Entry> ready;
+    private final LongObjectMap<Entry> entries = new LongObjectMap<>();
+    private final Map<String, Double> tauByUser = new HashMap<>();
+
+    private Entry current;
+
+    private long bursts;
+    private double absoluteError;
+    private long preemptions;
+
+    private Clock clock;
+    private PCB lastTerminated;
+    private final List<PCB> ganttChart = new ArrayList<>();
+
+    public ShortestJobFirst() { this(false, Estimate.ORACLE, DEFAULT_ALPHA, DEFAULT_TAU0); }
+
+    public ShortestJobFirst(double alpha, int tau0) { this(false, Estimate.PREDICTED, alpha, tau0); }
+
+    protected ShortestJobFirst(boolean preemptive, Estimate estimate, double alpha, int tau0) {
+        if(alpha < 0 || alpha > 1) throw new IllegalArgumentException("Alpha must be between 0 and 1");
+        if(tau0 <= 0) throw new IllegalArgumentException("Initial burst estimate must be positive");
+        this.preemptive = preemptive;
+        this.estimate = Objects.requireNonNull(estimate);
+        this.alpha = alpha;
+        this.tau0 = tau0;
+        this.ready = new TreeSet<>((a, b) -> {
+            int byKey = Double.compare(a.key, b.key);
+            return byKey != 0 ? byKey : Long.compare(a.pcb.getPid(), b.pcb.getPid());
+        });
+    }
+
+    @Override
+    public void onAdmit(PCB p, VirtualMemory.VirtualQueue from) {
+        Entry e = entries.get(p.getPid());
+        if(e == null) {
+            e = new Entry(p, tauByUser.getOrDefault(p.getUserId(), tau0));
+            entries.put(p.getPid(), e);
+        }
+        e.key = remainingEstimate(e, e.ran);
+        ready.add(e);
+    }
+
+    @Override
+    public void onSuspend(PCB p) {
+        Entry e = entries.get(p.getPid());
+        if(e != null && e != current) ready.remove(e);
+    }
+
+    @Override
+    public void execute(ReadyQueue readyQueue) {
+        // SRTF: alguien recien admitido necesita menos de lo que le queda al que corre
+        if(preemptive && current != null && !ready.isEmpty()
+                && ready.first().key < remainingEstimate(current, current.ran)) {
+            preemptions++;
+            preempt(readyQueue);
+        }
+
+        if(current == null) {
+            if(ready.isEmpty()) return;
+            current = ready.pollFirst();
+            current.pcb.changeStatus(Status.RUNNING);
+            if(!current.started) {
+                current.started = true;
+                current.pcb.setAttentionTimeAt(clock.time());
+            }
+        }
+
+        int remaining = current.pcb.consumeCpuBurst();
+        current.ran++;
+
+        if(remaining == 0) {
+            PCB done = current.pcb;
+            endBurst();
+            // Lo que consumio en total alimenta la estimacion inicial de su usuario
+            if(estimate == Estimate.PREDICTED) learnFrom(done);
+            done.changeStatus(Status.TERMINATED);
+            done.setCompletionTimeAt(clock.time() + 1);
+            entries.remove(done.getPid());
+            ganttChart.add(done);
+            lastTerminated = done;
+            current = null;
+        }
+    }
+
+    // En modo ORACLE lo que realmente le falta; en PREDICTED su rafaga estimada menos lo que ya corrio
+    private double remainingEstimate(Entry e, int ran) {
+        if(estimate == Estimate.ORACLE) return e.pcb.getCpuBursts();
+        return Math.max(0, e.tau - ran);
+    }
+
+    private void learnFrom(PCB done) {
+        double seen = tauByUser.getOrDefault(done.getUserId(), tau0);
+        tauByUser.put(done.getUserId(), alpha * done.getCpuBurstsTotal() + (1 - alpha) * seen);
+    }
+
+    // Cierra la rafaga observada (solo al completarla): mide el error de la estimacion y la actualiza
+    private void endBurst() {
+        if(estimate != Estimate.PREDICTED) return;
+        bursts++;
+        absoluteError += Math.abs(current.tau - current.ran);
+        current.tau = alpha * current.ran + (1 - alpha) * current.tau;
+        current.ran = 0;
+    }
+
+    // El conjunto es la cola de esta politica: se ignora la del llamador
+    @Override
+    public void preempt(ReadyQueue ownerQueue) {
+        if(current == null) return;
+        // La rafaga sigue abierta: vuelve con lo que le queda de la estimacion
+        current.pcb.changeStatus(Status.READY);
+        current.key = remainingEstimate(current, current.ran);
+        ready.add(current);
+        current = null;
+    }
+
+    @Override
+    public boolean isCpuBusy() { return current != null; }
+
+    @Override
+    public PCB pollTerminated() {
+        PCB done = lastTerminated;
+        lastTerminated = null;
+        return done;
+    }
+
+    @Override
+    public void bindClock(Clock clock) { this.clock = clock; }
+
+    // La clave del que corre solo baja: sin admisiones nada lo expropia antes de terminar
+    @Override
+    public int quietTicks(ReadyQueue readyQueue) {
+        if(current == null) return ready.isEmpty() ? Integer.MAX_VALUE : 0;
+        return Math.max(0, current.pcb.getCpuBursts() - 1);
+    }
+
+    @Override
+    public void skipTicks(int ticks) {
+        if(current == null) return;
+        current.pcb.consumeCpuBursts(ticks);
+        current.ran += ticks;
+    }
+
+    public boolean isPreemptive() { return preemptive; }
+    public Estimate getEstimate() { return estimate; }
+    public long getPreemptions() { return preemptions; }
+    // Error absoluto medio entre la rafaga estimada y la observada, en ticks
+    public double getMeanPredictionError() { return bursts > 0 ? absoluteError / bursts : 0; }
+
+    @Override
+    public long currentPid() { return current != null ? current.pcb.getPid() : NO_PID; }
+
+    @Override
+    public void printResults() {
+        for(PCB p : ganttChart) {
+            System.out.println("PROCESS: " + p.getPid());
+            System.out.println("COMPLETION TIME: " + p.getCompletionTime());
+            System.out.println("TURNAROUND TIME: " + p.calculateTurnaroundTime());
+            System.out.println("WAITING TIME: " + p.calculateWaitingTime());
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.umg.sysemu.schedulers;
+
+// Variante expropiativa de ShortestJobFirst: un recien admitido con menos trabajo estimado
+// que lo que le queda al que corre se queda con la CPU
+public class ShortestRemainingTimeFirst extends ShortestJobFirst {
+    public ShortestRemainingTimeFirst() { super(true, Estimate.ORACLE, DEFAULT_ALPHA, DEFAULT_TAU0); }
+
+    public ShortestRemainingTimeFirst(double alpha, int tau0) { super(true, Estimate.PREDICTED, alpha, tau0); }
+}
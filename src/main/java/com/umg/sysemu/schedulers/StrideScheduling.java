@@ -0,0 +1,210 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.LifecycleListener;
+import com.umg.sysemu.kernel.VirtualMemory;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.Status;
+
+import java.util.*;
+
+// Reparto proporcional por usuario con stride scheduling: cada usuario tiene tickets y un paso
+// (STRIDE1 / tickets); corre el usuario activo de menor pase y al soltar la CPU su pase avanza
+// paso * ticks usados. Asi la CPU se reparte segun los tickets de forma exacta a lo largo de la
+// corrida, no por epocas. Dentro de cada usuario sus procesos rotan con el quantum.
+public class StrideScheduling implements IScheduler,PreemptPolicy,RunningInspector,EventHorizon,LifecycleListener {
+    public static final int DEFAULT_QUANTUM = 3;
+    public static final int DEFAULT_TICKETS = 100;
+
+    private static final long STRIDE1 = 1L << 20;
+
+    private static final class Tenant {
+        final String user;
+        final int order;
+        final ReadyQueue queue = new RingReadyQueue();
+        int tickets;
+        long stride;
+        long pass;
+        long served;
+
+        Tenant(String user, int order, int tickets) {
+            this.user = user;
+            this.order = order;
+            setTickets(tickets);
+        }
+
+        void setTickets(int tickets) {
+            this.tickets = tickets;
+            this.stride = STRIDE1 / tickets;
+        }
+    }
+
+    private final int quantum;
+    private final int defaultTickets;
+    private final Map<String, Integer> ticketsByUser;
+
+    private final Map<String, Tenant> tenants = new LinkedHashMap<>();
+    // Usuarios con procesos listos, por (pase, orden de llegada); el que corre no esta aqui
+    private final TreeSet<Tenant> active = new TreeSet<>((a, b) -> {
+        int byPass = Long.compare(a.pass, b.pass);
+        return byPass != 0 ? byPass : Integer.compare(a.order, b.order);
+    });
+    // Pase del ultimo usuario elegido: quien vuelve a estar activo no arranca por detras
+    private long virtualTime;
+
+    private Tenant running;
+    private PCB current;
+    private int ranInQuantum;
+
+    private Clock clock;
+    private PCB lastTerminated;
+    private final List<PCB> ganttChart = new ArrayList<>();
+
+    public StrideScheduling() { this(DEFAULT_QUANTUM); }
+
+    // Todos con los mismos tickets hasta que se asignen con setTickets
+    public StrideScheduling(int quantum) { this(quantum, Map.of(), DEFAULT_TICKETS); }
+
+    public StrideScheduling(int quantum, Map<String, Integer> ticketsByUser, int defaultTickets) {
+        if(quantum <= 0) throw new IllegalArgumentException("Quantum must be positive");
+        checkTickets(defaultTickets);
+        ticketsByUser.values().forEach(StrideScheduling::checkTickets);
+        this.quantum = quantum;
+        this.defaultTickets = defaultTickets;
+        this.ticketsByUser = new HashMap<>(ticketsByUser);
+    }
+
+    private static void checkTickets(int tickets) {
+        if(tickets <= 0 || tickets > STRIDE1) throw new IllegalArgumentException("Tickets must be between 1 and " + STRIDE1);
+    }
+
+    // Aplica desde la proxima vez que el usuario suelte la CPU
+    public void setTickets(String user, int tickets) {
+        checkTickets(tickets);
+        ticketsByUser.put(user, tickets);
+        Tenant t = tenants.get(user);
+        if(t != null) t.setTickets(tickets);
+    }
+
+    @Override
+    public void onAdmit(PCB p, VirtualMemory.VirtualQueue from) {
+        Tenant t = tenants.computeIfAbsent(p.getUserId(),
+                u -> new Tenant(u, tenants.size(), ticketsByUser.getOrDefault(u, defaultTickets)));
+        boolean idle = t.queue.isEmpty() && t != running;
+        t.queue.addLast(p);
+        if(idle) {
+            t.pass = Math.max(t.pass, virtualTime);
+            active.add(t);
+        }
+    }
+
+    @Override
+    public void onSuspend(PCB p) {
+        Tenant t = tenants.get(p.getUserId());
+        if(t == null || p == current) return;
+        if(t.queue.remove(p) && t.queue.isEmpty() && t != running) active.remove(t);
+    }
+
+    @Override
+    public void execute(ReadyQueue readyQueue) {
+        if(current == null) {
+            if(active.isEmpty()) return;
+            running = active.pollFirst();
+            virtualTime = running.pass;
+            current = running.queue.pollFirst();
+            current.changeStatus(Status.RUNNING);
+            // Primera vez en la CPU: aun no consumio ninguna rafaga
+            if(current.getCpuBursts() == current.getCpuBurstsTotal()) current.setAttentionTimeAt(clock.time());
+            ranInQuantum = 0;
+        }
+
+        int remaining = current.consumeCpuBurst();
+        ranInQuantum++;
+
+        if(remaining == 0) {
+            current.changeStatus(Status.TERMINATED);
+            current.setCompletionTimeAt(clock.time() + 1);
+            ganttChart.add(current);
+            lastTerminated = current;
+            release(null);
+        } else if(ranInQuantum >= quantum) {
+            release(false);
+        }
+    }
+
+    // Cobra al usuario lo que uso y lo devuelve a los activos si le quedan listos;
+    // front == null si el proceso termino
+    private void release(Boolean front) {
+        if(front != null) {
+            current.changeStatus(Status.READY);
+            if(front) running.queue.addFirst(current);
+            else running.queue.addLast(current);
+        }
+        running.pass += running.stride * ranInQuantum;
+        running.served += ranInQuantum;
+        if(!running.queue.isEmpty()) active.add(running);
+        running = null;
+        current = null;
+    }
+
+    // Los usuarios son la cola de esta politica: se ignora la del llamador
+    @Override
+    public void preempt(ReadyQueue ownerQueue) {
+        if(current != null) release(true);
+    }
+
+    @Override
+    public boolean isCpuBusy() { return current != null; }
+
+    @Override
+    public PCB pollTerminated() {
+        PCB done = lastTerminated;
+        lastTerminated = null;
+        return done;
+    }
+
+    @Override
+    public void bindClock(Clock clock) { this.clock = clock; }
+
+    @Override
+    public int quietTicks(ReadyQueue readyQueue) {
+        if(current == null) return active.isEmpty() ? Integer.MAX_VALUE : 0;
+        return Math.max(0, Math.min(current.getCpuBursts() - 1, quantum - ranInQuantum - 1));
+    }
+
+    @Override
+    public void skipTicks(int ticks) {
+        if(current == null) return;
+        current.consumeCpuBursts(ticks);
+        ranInQuantum += ticks;
+    }
+
+    // Ticks de CPU cobrados a cada usuario (sin el quantum en curso)
+    public Map<String, Long> getServiceByUser() {
+        Map<String, Long> out = new LinkedHashMap<>();
+        for(Tenant t : tenants.values()) out.put(t.user, t.served);
+        return out;
+    }
+
+    public int getTickets(String user) {
+        Tenant t = tenants.get(user);
+        return t != null ? t.tickets : ticketsByUser.getOrDefault(user, defaultTickets);
+    }
+
+    @Override
+    public long currentPid() { return current != null ? current.getPid() : NO_PID; }
+
+    @Override
+    public String currentLane() { return running != null ? running.user : null; }
+
+    @Override
+    public void printResults() {
+        for(PCB p : ganttChart) {
+            System.out.println("PROCESS: " + p.getPid());
+            System.out.println("COMPLETION TIME: " + p.getCompletionTime());
+            System.out.println("TURNAROUND TIME: " + p.calculateTurnaroundTime());
+            System.out.println("WAITING TIME: " + p.calculateWaitingTime());
+            System.out.println();
+        }
+    }
+}
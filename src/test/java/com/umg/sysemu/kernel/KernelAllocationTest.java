@@ -0,0 +1,54 @@
+package com.umg.sysemu.kernel;
+
+import com.sun.management.ThreadMXBean;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.Type;
+import com.umg.sysemu.schedulers.FCFS;
+import com.umg.sysemu.schedulers.IScheduler;
+import com.umg.sysemu.schedulers.MultilevelQueue;
+import com.umg.sysemu.schedulers.RoundRobin;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Kernel.step en regimen estable no asigna memoria por tick: lo unico permitido es el
+// TimelineSlice que se agrega en cada cambio de proceso en CPU
+class KernelAllocationTest {
+    private static final int WARMUP_STEPS = 200_000;
+    private static final int MEASURED_STEPS = 100_000;
+    private static final long BYTES_PER_SLICE = 128;
+
+    @Test
+    void steadyStateStepDoesNotAllocatePerTick() {
+        ThreadMXBean mx = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(mx.isThreadAllocatedMemorySupported(), "JVM does not report per-thread allocation");
+        mx.setThreadAllocatedMemoryEnabled(true);
+
+        Map<String, Supplier<IScheduler>> policies = new LinkedHashMap<>();
+        policies.put("RoundRobin", () -> new RoundRobin(200));
+        policies.put("FCFS", FCFS::new);
+        policies.put("MultilevelQueue", () -> new MultilevelQueue(200, 200));
+
+        for(Map.Entry<String, Supplier<IScheduler>> e : policies.entrySet()) {
+            Kernel k = new Kernel(() -> new MainMemory(4000), VirtualMemory::new,
+                    () -> new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST), e.getValue());
+            for(int i = 0; i < 4; i++) k.addProcess(new PCB(50, 3_000_000, 100, Type.USER, "U" + (i % 2)));
+            for(int i = 0; i < WARMUP_STEPS; i++) k.step();
+
+            int slicesBefore = k.getTimeline().size();
+            long before = mx.getCurrentThreadAllocatedBytes();
+            for(int i = 0; i < MEASURED_STEPS; i++) k.step();
+            long allocated = mx.getCurrentThreadAllocatedBytes() - before;
+            long switches = k.getTimeline().size() - slicesBefore;
+
+            assertTrue(allocated <= switches * BYTES_PER_SLICE, e.getKey() + " allocated " + allocated + " bytes in "
+                    + MEASURED_STEPS + " steps with " + switches + " context switches");
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.schedulers.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// stepToNextEvent solo salta ticks sin eventos: la huella de la corrida tiene que ser la misma
+// que avanzando de a un tick, con cada politica y con la RAM justa para forzar swap
+class KernelEventModeTest {
+    private static final String JOBS = "src/main/java/com/umg/sysemu/assets/MemoryOne.txt";
+    private static final int[] RAM_SIZES = {4024, 2500, 1200};
+    private static final int MAX_STEPS = 1_000_000;
+
+    private static Map<String, Supplier<IScheduler>> policies() {
+        Map<String, Supplier<IScheduler>> out = new LinkedHashMap<>();
+        out.put("RoundRobin", () -> new RoundRobin(3));
+        out.put("FCFS", FCFS::new);
+        out.put("MultilevelQueue", () -> new MultilevelQueue(2, 4));
+        out.put("FairShare", () -> new FairShare(3));
+        out.put("CompletelyFair", CompletelyFair::new);
+        out.put("MultilevelFeedbackQueue", MultilevelFeedbackQueue::new);
+        out.put("ShortestJobFirst", ShortestJobFirst::new);
+        out.put("ShortestRemainingTimeFirst", ShortestRemainingTimeFirst::new);
+        out.put("PredictedSRTF", () -> new ShortestRemainingTimeFirst(0.5, 10));
+        out.put("EarliestDeadlineFirst", EarliestDeadlineFirst::new);
+        out.put("StrideScheduling", () -> new StrideScheduling(3));
+        return out;
+    }
+
+    // Con E/S en curso la CPU puede quedar ociosa mientras corren los plazos de la politica
+    private static Map<String, Supplier<IScheduler>> withDevice() {
+        Map<String, Supplier<IScheduler>> out = new LinkedHashMap<>();
+        out.put("RoundRobin", () -> new RoundRobin(3));
+        out.put("MultilevelFeedbackQueue", MultilevelFeedbackQueue::new);
+        out.put("ShortBoostMLFQ", () -> new MultilevelFeedbackQueue(3, 2, 7));
+        return out;
+    }
+
+    @Test
+    void eventModeMatchesStepMode() {
+        for(Map.Entry<String, Supplier<IScheduler>> e : policies().entrySet()) {
+            for(int ram : RAM_SIZES) {
+                Supplier<MainMemory> mem = () -> new MainMemory(ram);
+                Supplier<MLTermScheduler> mts = () -> new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+                assertSameRun(e.getKey() + " ram=" + ram, mem, mts, e.getValue());
+            }
+        }
+    }
+
+    @Test
+    void eventModeMatchesStepModeWithCompaction() {
+        for(int ram : RAM_SIZES) {
+            Supplier<MainMemory> mem = () -> {
+                MainMemory m = new MainMemory(ram, FitStrategy.FIRST_FIT);
+                m.enableCompaction(50);
+                return m;
+            };
+            Supplier<MLTermScheduler> mts = () -> new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+            assertSameRun("compaction ram=" + ram, mem, mts, () -> new RoundRobin(3));
+        }
+    }
+
+    @Test
+    void eventModeMatchesStepModeWithSwapDevice() {
+        for(int ram : RAM_SIZES) {
+            Supplier<MainMemory> mem = () -> new MainMemory(ram);
+            Supplier<MLTermScheduler> mts = () -> {
+                MLTermScheduler m = new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+                m.enableSwapDevice(new SwapDevice(SwapTier.compressedRam(4096), SwapTier.disk(1 << 20)));
+                return m;
+            };
+            for(Map.Entry<String, Supplier<IScheduler>> e : withDevice().entrySet())
+                assertSameRun(e.getKey() + " swap device ram=" + ram, mem, mts, e.getValue());
+        }
+    }
+
+    @Test
+    void eventModeMatchesStepModeWithLoadControl() {
+        for(int ram : RAM_SIZES) {
+            Supplier<MainMemory> mem = () -> new MainMemory(ram);
+            Supplier<MLTermScheduler> mts = () -> {
+                MLTermScheduler m = new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+                m.enableLoadControl(LoadControlConfig.defaults());
+                m.enableSwapDevice(new SwapDevice(SwapTier.compressedRam(4096), SwapTier.disk(1 << 20)));
+                return m;
+            };
+            for(Map.Entry<String, Supplier<IScheduler>> e : withDevice().entrySet())
+                assertSameRun(e.getKey() + " load control ram=" + ram, mem, mts, e.getValue());
+        }
+    }
+
+    @Test
+    void eventModeMatchesStepModeWithOrderedAdmission() {
+        for(int ram : RAM_SIZES) {
+            Supplier<MainMemory> mem = () -> new MainMemory(ram);
+            Supplier<MLTermScheduler> fifo = () -> {
+                MLTermScheduler m = new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+                m.setAdmissionPolicy(MLTermScheduler.AdmissionPolicy.FIFO);
+                return m;
+            };
+            Supplier<MLTermScheduler> bypass = () -> {
+                MLTermScheduler m = new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+                m.setBypassLimit(3);
+                return m;
+            };
+            assertSameRun("fifo ram=" + ram, mem, fifo, () -> new RoundRobin(3));
+            assertSameRun("bypass limit ram=" + ram, mem, bypass, () -> new RoundRobin(3));
+        }
+    }
+
+    private static void assertSameRun(String name, Supplier<MainMemory> mem, Supplier<MLTermScheduler> mts, Supplier<IScheduler> cpu) {
+        assertEquals(run(mem, mts, cpu, false), run(mem, mts, cpu, true), name);
+    }
+
+    private static String run(Supplier<MainMemory> mem, Supplier<MLTermScheduler> mts, Supplier<IScheduler> cpu, boolean event) {
+        Kernel k = new Kernel(mem, VirtualMemory::new, mts, cpu);
+        k.reset();
+        k.loadJobsAtBoot(JOBS);
+        int steps = 0;
+        while(!k.isFinished()) {
+            if(event) k.stepToNextEvent();
+            else k.step();
+            assertTrue(++steps < MAX_STEPS, "run did not finish");
+        }
+        k.flushTimelineAtEnd();
+        // El digest no incluye el tick final: una corrida que se pasa de largo tambien difiere
+        return k.getRunDigest() + " @" + k.currentTick();
+    }
+}
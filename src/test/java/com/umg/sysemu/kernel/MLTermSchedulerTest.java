@@ -0,0 +1,105 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.UI.DTO.BacklogStats;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.ProcessTable;
+import com.umg.sysemu.process.Status;
+import com.umg.sysemu.process.Type;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MLTermSchedulerTest {
+    private final ProcessTable table = new ProcessTable();
+
+    private PCB job(int ram) { return table.create(50, 10, ram, Type.USER, "U"); }
+
+    // Un rechazo por la prueba de tiempo real no es una admision: no cuenta como adelanto al mas antiguo
+    @Test
+    void deadlineRejectionIsNotABypass() {
+        MainMemory mm = new MainMemory(100);
+        VirtualMemory vm = new VirtualMemory();
+        vm.bindClock(new Clock());
+        MLTermScheduler mts = new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+        mts.setBypassLimit(1);
+        mts.enableDeadlineAdmission(0.5);
+
+        PCB filler = job(60);
+        vm.allocate(filler);
+        mts.execute(0, mm, vm);
+        assertEquals(Status.READY, filler.getStatus());
+
+        // big no cabe en los 40 libres; rt cabe pero pide 10 / 11 de la CPU
+        PCB big = job(70), rt = job(20);
+        rt.setTiming(0, 11);
+        vm.allocate(big);
+        vm.allocate(rt);
+        mts.execute(1, mm, vm);
+        assertEquals(Status.REJECTED, rt.getStatus());
+        assertEquals(1, mts.getDeadlineRejections());
+
+        // big no fue adelantado: uno chico que cabe sigue entrando
+        PCB small = job(30);
+        vm.allocate(small);
+        mts.execute(2, mm, vm);
+        assertEquals(Status.READY, small.getStatus());
+        assertEquals(Status.NEW, big.getStatus());
+    }
+
+    // Al terminar, el proceso de tiempo real devuelve su parte de la cota
+    @Test
+    void terminationReleasesTheRealtimeShare() {
+        MainMemory mm = new MainMemory(100);
+        VirtualMemory vm = new VirtualMemory();
+        vm.bindClock(new Clock());
+        MLTermScheduler mts = new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+        mts.enableDeadlineAdmission(0.6);
+
+        PCB first = job(20), second = job(20);
+        first.setTiming(0, 20);
+        second.setTiming(0, 20);
+        vm.allocate(first);
+        mts.execute(0, mm, vm);
+        assertEquals(Status.READY, first.getStatus());
+        assertEquals(0.5, mts.getRealtimeUtilization(), 1e-9);
+
+        mts.onTerminate(first);
+        assertEquals(0.0, mts.getRealtimeUtilization(), 1e-9);
+        vm.allocate(second);
+        mts.execute(1, mm, vm);
+        assertEquals(Status.READY, second.getStatus());
+        assertEquals(0.5, mts.getRealtimeUtilization(), 1e-9);
+    }
+
+    // Con el limite de suspendidos en 1 y DROP, hacerle lugar al swap-out no puede descartar al
+    // candidato por el que se evacua (volveria a la RAM ya rechazado)
+    @Test
+    void suspendedLimitNeverDropsTheCandidate() {
+        MainMemory mm = new MainMemory(100);
+        VirtualMemory vm = new VirtualMemory();
+        vm.bindClock(new Clock());
+        vm.setBacklogLimit(VirtualMemory.VirtualQueue.SUSPENDED, 1, VirtualMemory.OverflowPolicy.DROP_OLDEST_LOWEST_PRIORITY);
+        TimerWheel timers = new TimerWheel();
+        MLTermScheduler mts = new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+        mts.bindTimers(timers);
+
+        PCB filler = job(80);
+        vm.allocate(filler);
+        mts.execute(0, mm, vm);
+        assertEquals(Status.READY, filler.getStatus());
+
+        // Cumplida la residencia el filler es victima; el candidato es el unico suspendido
+        timers.advanceTo(100);
+        PCB cand = job(60);
+        cand.changeStatus(Status.SUSPENDED);
+        vm.allocate(cand);
+        mts.execute(100, mm, vm);
+
+        assertEquals(Status.SUSPENDED, cand.getStatus());
+        assertEquals(Status.READY, filler.getStatus());
+        assertEquals(0, mts.getEvictions());
+        BacklogStats suspended = vm.backlogStats().get(VirtualMemory.VirtualQueue.SUSPENDED.ordinal());
+        assertEquals(0, suspended.dropped());
+        assertEquals(1, suspended.blocked());
+    }
+}
@@ -0,0 +1,89 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.ProcessTable;
+import com.umg.sysemu.process.Type;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MainMemoryTest {
+    private final ProcessTable table = new ProcessTable();
+
+    private PCB job(int ram) { return table.create(50, 10, ram, Type.USER, "U"); }
+
+    // 100 bytes partidos en dos huecos de 30: sobran 60 libres pero no cabe uno de 40
+    private MainMemory fragmented() {
+        MainMemory mm = new MainMemory(100, FitStrategy.FIRST_FIT);
+        PCB a = job(30), b = job(20), c = job(30), d = job(20);
+        for(PCB p : new PCB[]{a, b, c, d}) assertTrue(mm.allocate(p));
+        mm.deallocate(a);
+        mm.deallocate(c);
+        return mm;
+    }
+
+    @Test
+    void fragmentationMissCountsOncePerBlockedEpisode() {
+        MainMemory mm = fragmented();
+        // Varias consultas en varias pasadas seguidas son un solo episodio
+        for(int pass = 0; pass < 5; pass++) {
+            assertFalse(mm.ensureFit(40));
+            assertFalse(mm.ensureFit(40));
+            mm.endAdmissionPass();
+        }
+        assertEquals(1, mm.getFragmentationMisses());
+
+        // Una pasada sin bloqueo cierra el episodio; el siguiente cuenta de nuevo
+        mm.endAdmissionPass();
+        assertFalse(mm.ensureFit(40));
+        mm.endAdmissionPass();
+        assertEquals(2, mm.getFragmentationMisses());
+    }
+
+    @Test
+    void shortOfBytesIsNotFragmentation() {
+        MainMemory mm = fragmented();
+        assertFalse(mm.ensureFit(70));
+        mm.endAdmissionPass();
+        assertEquals(0, mm.getFragmentationMisses());
+    }
+
+    @Test
+    void compactionResolvesTheMiss() {
+        MainMemory mm = fragmented();
+        mm.enableCompaction(10);
+        assertTrue(mm.ensureFit(40));
+        mm.endAdmissionPass();
+        assertEquals(1, mm.getFragmentationMisses());
+        assertEquals(1, mm.getCompactions());
+    }
+
+    @Test
+    void buddyCompactsOnlyWhenItWouldOpenABlock() {
+        // 2500 = raices 2048+256+128+64+4: con 900 y 300 ocupados sobran 964 bytes, pero al juntar
+        // lo libre quedan bloques de 512 o menos y no entra otro de 900
+        MainMemory mm = new MainMemory(2500, FitStrategy.BUDDY);
+        mm.enableCompaction(10);
+        assertTrue(mm.allocate(job(900)));
+        assertTrue(mm.allocate(job(300)));
+        assertFalse(mm.ensureFit(900));
+        assertEquals(0, mm.getCompactions());
+    }
+
+    @Test
+    void buddyCompactionJoinsSplitBlocks() {
+        // Dos huecos de 256 separados dentro de 2048: compactar arma uno de 512
+        MainMemory mm = new MainMemory(2048, FitStrategy.BUDDY);
+        mm.enableCompaction(10);
+        PCB[] small = {job(256), job(256), job(256), job(256)};
+        for(PCB p : small) assertTrue(mm.allocate(p));
+        assertTrue(mm.allocate(job(1024)));
+        mm.deallocate(small[0]);
+        mm.deallocate(small[2]);
+        assertFalse(mm.canFit(512));
+        assertTrue(mm.ensureFit(512));
+        assertEquals(1, mm.getCompactions());
+    }
+}
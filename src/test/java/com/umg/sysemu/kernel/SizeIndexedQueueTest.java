@@ -0,0 +1,43 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.ProcessTable;
+import com.umg.sysemu.process.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SizeIndexedQueueTest {
+    private final ProcessTable table = new ProcessTable();
+
+    private PCB job(int ram) { return table.create(50, 10, ram, Type.USER, "U"); }
+
+    @Test
+    void candidatesKeepArrivalOrderAcrossParking() {
+        SizeIndexedQueue q = new SizeIndexedQueue();
+        PCB big = job(500), a = job(100), huge = job(900), b = job(100);
+        for(PCB p : new PCB[]{big, a, huge, b}) q.addLast(p);
+
+        q.setParkLimit(400);
+        assertSame(a, q.oldestCandidate());
+        assertEquals(2, q.candidates());
+        assertEquals(2, q.parkedCount());
+        assertSame(a, q.largestAtMost(1000));
+
+        // Al subir el limite los desestacionados vuelven a su lugar de llegada
+        q.setParkLimit(600);
+        assertSame(big, q.oldestCandidate());
+        List<PCB> first = new ArrayList<>();
+        q.firstCandidates(3, first);
+        assertEquals(List.of(big, a, b), first);
+
+        assertTrue(q.remove(big));
+        assertTrue(q.remove(a));
+        assertSame(b, q.oldestCandidate());
+        assertEquals(1, q.parkedCount());
+        assertNull(q.largestAtMost(50));
+    }
+}
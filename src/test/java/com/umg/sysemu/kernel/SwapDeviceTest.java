@@ -0,0 +1,34 @@
+package com.umg.sysemu.kernel;
+
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.ProcessTable;
+import com.umg.sysemu.process.Type;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwapDeviceTest {
+    private static final SwapDevice.Completion NONE = (p, tick) -> {};
+    private final ProcessTable table = new ProcessTable();
+
+    private PCB job(int ram) { return table.create(50, 10, ram, Type.USER, "U"); }
+
+    @Test
+    void canSwapOutMatchesSwapOutWithoutTouchingTheDevice() {
+        // Un nivel de cola 1: la primera escritura ocupa la cola, la segunda ya no entra
+        SwapDevice d = new SwapDevice(new SwapTier("DISK", 4, 128, 1000, 1));
+        PCB a = job(100), b = job(100), big = job(2000);
+
+        assertTrue(d.canSwapOut(a));
+        assertEquals(0, d.stats(0).get(0).usedBytes());
+        assertTrue(d.swapOut(a, 0, NONE));
+
+        assertFalse(d.canSwapOut(b));
+        assertFalse(d.swapOut(b, 0, NONE));
+        assertEquals(2, d.stats(0).get(0).rejected());
+
+        // Sin capacidad no es un rechazo de cola
+        assertFalse(d.canSwapOut(big));
+        assertEquals(2, d.stats(0).get(0).rejected());
+    }
+}
@@ -0,0 +1,49 @@
+package com.umg.sysemu.kernel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+    private static final TimerWheel.Expiry NOOP = (t, tick) -> {};
+
+    @Test
+    void firesInDeadlineOrderAcrossLevels() {
+        TimerWheel w = new TimerWheel();
+        List<Integer> fired = new ArrayList<>();
+        for(int d : new int[]{300_000, 5, 4_100, 70, 5}) w.schedule(d, d, null, (t, tick) -> fired.add(t.deadline()));
+        w.advanceTo(400_000);
+        assertEquals(List.of(5, 5, 70, 4_100, 300_000), fired);
+        assertEquals(0, w.size());
+    }
+
+    @Test
+    void rescheduleAndCancelRejectForeignTimers() {
+        TimerWheel a = new TimerWheel(), b = new TimerWheel();
+        TimerWheel.Timer t = a.schedule(10, 1, null, NOOP);
+        assertThrows(IllegalArgumentException.class, () -> b.reschedule(t, 20));
+        assertThrows(IllegalArgumentException.class, () -> b.cancel(t));
+        // La rueda duena sigue intacta
+        assertTrue(t.isScheduled());
+        assertEquals(1, a.size());
+        assertEquals(0, b.size());
+        a.cancel(t);
+        assertEquals(0, a.size());
+    }
+
+    @Test
+    void loadEpochIsArmedOnTheBoundWheel() {
+        MLTermScheduler m = new MLTermScheduler(MLTermScheduler.VictimPolicy.LOW_PRIORITY_FIRST);
+        m.enableLoadControl(LoadControlConfig.defaults());
+        TimerWheel first = new TimerWheel(), second = new TimerWheel();
+        m.bindTimers(first);
+        assertEquals(1, first.size());
+        m.bindTimers(second);
+        assertEquals(0, first.size());
+        assertEquals(1, second.size());
+        assertEquals(LoadControlConfig.defaults().epochTicks(), second.nextDeadline());
+    }
+}
@@ -0,0 +1,66 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.VirtualMemory;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.ProcessTable;
+import com.umg.sysemu.process.Type;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompletelyFairTest {
+    private static final int TICKS = 12_000;
+
+    private final ProcessTable table = new ProcessTable();
+    private final Clock clock = new Clock();
+
+    private PCB job(int priority) { return table.create(priority, 1_000_000, 100, Type.USER, "U"); }
+
+    // Ticks de CPU que recibe cada uno en 'ticks' ticks
+    private long[] serve(CompletelyFair s, int ticks, PCB... ps) {
+        long[] before = new long[ps.length];
+        for(int j = 0; j < ps.length; j++) before[j] = ps[j].getCpuBursts();
+        for(int i = 0; i < ticks; i++) {
+            s.execute(null);
+            clock.forward();
+        }
+        long[] out = new long[ps.length];
+        for(int j = 0; j < ps.length; j++) out[j] = before[j] - ps[j].getCpuBursts();
+        return out;
+    }
+
+    private CompletelyFair scheduler() {
+        CompletelyFair s = new CompletelyFair();
+        s.bindClock(clock);
+        return s;
+    }
+
+    @Test
+    void serviceFollowsPriority() {
+        CompletelyFair s = scheduler();
+        PCB low = job(20), high = job(60);
+        s.onAdmit(low, VirtualMemory.VirtualQueue.NEW);
+        s.onAdmit(high, VirtualMemory.VirtualQueue.NEW);
+        long[] served = serve(s, TICKS, low, high);
+        assertEquals(3.0, (double) served[1] / served[0], 0.02);
+    }
+
+    // Al volver de swap el peso sale de la prioridad actual, no de la de su primera admision
+    @Test
+    void readmissionTakesTheAgedPriority() {
+        CompletelyFair s = scheduler();
+        PCB aged = job(20), other = job(60);
+        s.onAdmit(aged, VirtualMemory.VirtualQueue.NEW);
+        s.onAdmit(other, VirtualMemory.VirtualQueue.NEW);
+        serve(s, 100, aged, other);
+
+        if(s.currentPid() == aged.getPid()) s.preempt(null);
+        s.onSuspend(aged);
+        for(int k = 0; k < 40; k++) aged.incrementPriority();
+        s.onAdmit(aged, VirtualMemory.VirtualQueue.SUSPENDED);
+
+        long[] served = serve(s, TICKS, aged, other);
+        assertEquals(1.0, (double) served[0] / served[1], 0.02);
+    }
+}
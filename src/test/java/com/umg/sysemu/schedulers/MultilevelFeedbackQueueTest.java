@@ -0,0 +1,80 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.VirtualMemory;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.ProcessTable;
+import com.umg.sysemu.process.Type;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MultilevelFeedbackQueueTest {
+    private final ProcessTable table = new ProcessTable();
+    private final Clock clock = new Clock();
+
+    private PCB job(int bursts) { return table.create(50, bursts, 100, Type.USER, "U"); }
+
+    private MultilevelFeedbackQueue scheduler(int boostInterval) {
+        // Quantums 2, 4, 8 y asignaciones 4, 8 (el ultimo nivel no tiene)
+        MultilevelFeedbackQueue s = new MultilevelFeedbackQueue(3, 2, boostInterval);
+        s.bindClock(clock);
+        return s;
+    }
+
+    private void run(MultilevelFeedbackQueue s, int ticks) {
+        for(int i = 0; i < ticks; i++) {
+            s.execute(null);
+            clock.forward();
+        }
+    }
+
+    @Test
+    void spendingTheAllotmentDemotes() {
+        MultilevelFeedbackQueue s = scheduler(1000);
+        PCB a = job(100);
+        s.onAdmit(a, VirtualMemory.VirtualQueue.NEW);
+        run(s, 4);
+        assertEquals(1, s.getDemotions());
+        run(s, 8);
+        assertEquals(2, s.getDemotions());
+        run(s, 1);
+        assertEquals("LEVEL 2", s.currentLane());
+
+        // Uno nuevo entra arriba y expulsa al del ultimo nivel
+        PCB b = job(100);
+        s.onAdmit(b, VirtualMemory.VirtualQueue.NEW);
+        run(s, 1);
+        assertEquals(b.getPid(), s.currentPid());
+        assertEquals("LEVEL 0", s.currentLane());
+    }
+
+    @Test
+    void boostReturnsEveryoneToTheTopLevel() {
+        MultilevelFeedbackQueue s = scheduler(10);
+        PCB a = job(100);
+        s.onAdmit(a, VirtualMemory.VirtualQueue.NEW);
+        run(s, 10);
+        assertEquals(1, s.getDemotions());
+        assertEquals("LEVEL 1", s.currentLane());
+        run(s, 1);
+        assertEquals(1, s.getBoosts());
+        // Sin el boost bajaria en el tick 11; con la asignacion renovada gasta 4 ticks mas
+        run(s, 2);
+        assertEquals(1, s.getDemotions());
+        run(s, 1);
+        assertEquals(2, s.getDemotions());
+    }
+
+    // Ociosa no hay boost que contar, pero el salto por eventos tampoco puede pasar por encima
+    @Test
+    void idleQuietTicksStopAtTheNextBoost() {
+        MultilevelFeedbackQueue s = scheduler(7);
+        assertEquals(7, s.quietTicks(null));
+        run(s, 7);
+        assertEquals(0, s.quietTicks(null));
+        run(s, 1);
+        assertEquals(0, s.getBoosts());
+        assertEquals(6, s.quietTicks(null));
+    }
+}
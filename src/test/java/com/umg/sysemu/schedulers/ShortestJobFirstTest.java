@@ -0,0 +1,54 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.VirtualMemory;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.ProcessTable;
+import com.umg.sysemu.process.Type;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShortestJobFirstTest {
+    private final ProcessTable table = new ProcessTable();
+    private final Clock clock = new Clock();
+
+    private PCB job(int bursts, String user) { return table.create(50, bursts, 100, Type.USER, user); }
+
+    private void run(ShortestJobFirst s, int ticks) {
+        for(int i = 0; i < ticks; i++) {
+            s.execute(null);
+            clock.forward();
+        }
+    }
+
+    // Una expropiacion no cierra la rafaga: la estimacion se actualiza y se mide solo al completarla
+    @Test
+    void srtfPreemptionIsNotACompletedBurst() {
+        ShortestRemainingTimeFirst s = new ShortestRemainingTimeFirst(0.5, 10);
+        s.bindClock(clock);
+
+        // V aprende tau = 0.5 * 2 + 0.5 * 10 = 6 con un trabajo corto; error |10 - 2|
+        s.onAdmit(job(2, "V"), VirtualMemory.VirtualQueue.NEW);
+        run(s, 2);
+        assertEquals(8, s.getMeanPredictionError(), 1e-9);
+
+        // A (tau 10) corre 2 ticks; B (tau 6) necesita menos que los 8 que le quedan a A
+        PCB a = job(30, "U");
+        s.onAdmit(a, VirtualMemory.VirtualQueue.NEW);
+        run(s, 2);
+        PCB b = job(3, "V");
+        s.onAdmit(b, VirtualMemory.VirtualQueue.NEW);
+        run(s, 1);
+        assertEquals(1, s.getPreemptions());
+        assertEquals(b.getPid(), s.currentPid());
+        assertEquals(8, s.getMeanPredictionError(), 1e-9);
+
+        // B termina (|6 - 3|) y A retoma su rafaga: al completarla se mide contra los 30 ticks
+        run(s, 2);
+        assertEquals(5.5, s.getMeanPredictionError(), 1e-9);
+        run(s, 28);
+        assertEquals(a.getPid(), s.pollTerminated().getPid());
+        assertEquals((8 + 3 + 20) / 3.0, s.getMeanPredictionError(), 1e-9);
+    }
+}
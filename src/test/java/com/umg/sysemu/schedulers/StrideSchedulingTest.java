@@ -0,0 +1,74 @@
+package com.umg.sysemu.schedulers;
+
+import com.umg.sysemu.kernel.Clock;
+import com.umg.sysemu.kernel.VirtualMemory;
+import com.umg.sysemu.process.PCB;
+import com.umg.sysemu.process.ProcessTable;
+import com.umg.sysemu.process.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StrideSchedulingTest {
+    private static final int TICKS = 12_000;
+
+    private final ProcessTable table = new ProcessTable();
+    private final Clock clock = new Clock();
+
+    private PCB job(String user) { return table.create(50, 1_000_000, 100, Type.USER, user); }
+
+    private StrideScheduling scheduler(Map<String, Integer> tickets) {
+        StrideScheduling s = new StrideScheduling(StrideScheduling.DEFAULT_QUANTUM, tickets, StrideScheduling.DEFAULT_TICKETS);
+        s.bindClock(clock);
+        return s;
+    }
+
+    private void run(StrideScheduling s, int ticks) {
+        for(int i = 0; i < ticks; i++) {
+            s.execute(null);
+            clock.forward();
+        }
+    }
+
+    // El reparto es por usuario: dos procesos no le dan a A mas que sus tickets
+    @Test
+    void serviceFollowsTheTicketRatio() {
+        StrideScheduling s = scheduler(Map.of("A", 300, "B", 100));
+        s.onAdmit(job("A"), VirtualMemory.VirtualQueue.NEW);
+        s.onAdmit(job("A"), VirtualMemory.VirtualQueue.NEW);
+        s.onAdmit(job("B"), VirtualMemory.VirtualQueue.NEW);
+        run(s, TICKS);
+        Map<String, Long> served = s.getServiceByUser();
+        assertEquals(3.0, (double) served.get("A") / served.get("B"), 0.01);
+    }
+
+    @Test
+    void ticketChangeShiftsTheShare() {
+        StrideScheduling s = scheduler(Map.of());
+        s.onAdmit(job("A"), VirtualMemory.VirtualQueue.NEW);
+        s.onAdmit(job("B"), VirtualMemory.VirtualQueue.NEW);
+        run(s, TICKS);
+        Map<String, Long> before = s.getServiceByUser();
+        assertEquals(1.0, (double) before.get("A") / before.get("B"), 0.01);
+
+        s.setTickets("B", 400);
+        run(s, TICKS);
+        Map<String, Long> after = s.getServiceByUser();
+        double a = after.get("A") - before.get("A"), b = after.get("B") - before.get("B");
+        assertEquals(4.0, b / a, 0.05);
+    }
+
+    // La atencion se marca al primer despacho y no cambia al volver a la CPU
+    @Test
+    void attentionTimeIsTheFirstDispatch() {
+        StrideScheduling s = scheduler(Map.of());
+        PCB a = job("A"), b = job("B");
+        s.onAdmit(a, VirtualMemory.VirtualQueue.NEW);
+        s.onAdmit(b, VirtualMemory.VirtualQueue.NEW);
+        run(s, 30);
+        assertEquals(0, a.getAttentionTime());
+        assertEquals(StrideScheduling.DEFAULT_QUANTUM, b.getAttentionTime());
+    }
+}